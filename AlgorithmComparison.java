@@ -0,0 +1,96 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Runs every algorithm in Controller.ALGORITHMS on the same processes at once and
+// collects the metrics side by side. Each run schedules its own copy of the
+// processes, because Controller updates the Process objects it is given.
+public class AlgorithmComparison {
+    private final List<Result> results;
+
+    private AlgorithmComparison(List<Result> results) {
+        this.results = results;
+    }
+
+    public static AlgorithmComparison run(List<Process> processes, int quantumTime) throws InterruptedException, ExecutionException {
+        return run(processes, quantumTime, 0);
+    }
+
+    // contextSwitchTime is charged on every switch, see Controller.setContextSwitchTime
+    public static AlgorithmComparison run(List<Process> processes, int quantumTime, int contextSwitchTime)
+            throws InterruptedException, ExecutionException {
+        int threads = Math.min(Controller.ALGORITHMS.length, Runtime.getRuntime().availableProcessors());
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Result>> futures = new ArrayList<>();
+            for (String algorithm : Controller.ALGORITHMS) {
+                List<Process> copy = new ArrayList<>(processes.size());
+                for (Process process : processes) {
+                    copy.add(process.copy());
+                }
+                futures.add(executor.submit(() -> runAlgorithm(algorithm, copy, quantumTime, contextSwitchTime)));
+            }
+
+            List<Result> results = new ArrayList<>();
+            for (Future<Result> future : futures) {
+                results.add(future.get());
+            }
+            return new AlgorithmComparison(Collections.unmodifiableList(results));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Result runAlgorithm(String algorithm, List<Process> processes, int quantumTime, int contextSwitchTime) {
+        Controller controller = new Controller(processes, quantumTime);
+        controller.setContextSwitchTime(contextSwitchTime);
+        // Only the metrics are reported, so keep the end time instead of the whole timeline
+        long[] endTime = new long[1];
+        controller.setScheduleSink((processIndex, startTime, duration) -> endTime[0] = startTime + duration);
+        controller.execute(algorithm);
+        return new Result(algorithm, controller, endTime[0]);
+    }
+
+    public List<Result> getResults() {
+        return results;
+    }
+
+    public String formatReport() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-24s %12s %12s %12s %12s %10s %10s %8s%n",
+            "Algorithm", "Total TAT", "Average TAT", "Total WT", "Average WT", "Makespan", "Switches", "CPU"));
+        for (Result result : results) {
+            report.append(String.format("%-24s %12d %12.2f %12d %12.2f %10d %10d %7.1f%%%n",
+                result.algorithm, result.totalTurnaroundTime, result.averageTurnaroundTime,
+                result.totalWaitingTime, result.averageWaitingTime, result.makespan, result.contextSwitches,
+                result.cpuUtilization * 100));
+        }
+        return report.toString();
+    }
+
+    public static class Result {
+        public final String algorithm;
+        public final long totalTurnaroundTime;
+        public final double averageTurnaroundTime;
+        public final long totalWaitingTime;
+        public final double averageWaitingTime;
+        public final long makespan;
+        public final long contextSwitches;
+        public final double cpuUtilization; // Fraction of the run the CPU spent on processes
+
+        Result(String algorithm, Controller controller, long makespan) {
+            this.algorithm = algorithm;
+            this.totalTurnaroundTime = controller.getTotalTurnaroundTime();
+            this.averageTurnaroundTime = controller.getAverageTurnaroundTime();
+            this.totalWaitingTime = controller.getTotalWaitingTime();
+            this.averageWaitingTime = controller.getAverageWaitingTime();
+            this.makespan = makespan;
+            this.contextSwitches = controller.getContextSwitchCount();
+            this.cpuUtilization = controller.getCpuUtilization();
+        }
+    }
+}
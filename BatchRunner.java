@@ -0,0 +1,347 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+// Headless entry point that schedules trace files without opening any window.
+//
+// Usage: java BatchRunner --algorithm <name> [--quantum <n>] [--context-switch <n>] [--output <dir>] [--jmx] <trace or directory>...
+//        Multilevel Feedback Queue also takes [--levels <q1,q2,...>] [--boost <interval>]
+//        Completely Fair Scheduler also takes [--target-latency <n>] [--min-granularity <n>]
+//        Priority algorithms also take [--aging <interval>]
+//
+// Each trace (CSV, JSON or binary, see TraceLoader) produces <name>.metrics.csv with the
+// per-process results and <name>.timeline.csv with the Gantt chart slices.
+// One summary row per trace is appended to summary.csv in the output directory, and
+// percentiles.csv holds the percentiles of every trace's processes together.
+// A trace with I/O bursts also produces <name>.devices.csv with each device's usage.
+// --context-switch charges that much CPU time per switch; it shows as CS in the timeline.
+// --jmx registers the SchedulerInstrumentation MBean, so a long batch can be watched live.
+public class BatchRunner {
+    public static void main(String[] args) {
+        String algorithm = null;
+        int quantumTime = 0;
+        Path outputDirectory = Paths.get(".");
+        List<Path> inputs = new ArrayList<>();
+        int[] feedbackQuanta = null;
+        int boostInterval = -1;
+        int targetLatency = -1;
+        int minimumGranularity = -1;
+        int agingInterval = 0;
+        int contextSwitchTime = 0;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--algorithm", "-a" -> algorithm = resolveAlgorithm(requireValue(args, ++i));
+                    case "--quantum", "-q" -> quantumTime = Integer.parseInt(requireValue(args, ++i));
+                    case "--output", "-o" -> outputDirectory = Paths.get(requireValue(args, ++i));
+                    case "--levels" -> feedbackQuanta = parseQuanta(requireValue(args, ++i));
+                    case "--boost" -> boostInterval = Integer.parseInt(requireValue(args, ++i));
+                    case "--target-latency" -> targetLatency = Integer.parseInt(requireValue(args, ++i));
+                    case "--min-granularity" -> minimumGranularity = Integer.parseInt(requireValue(args, ++i));
+                    case "--aging" -> agingInterval = Integer.parseInt(requireValue(args, ++i));
+                    case "--context-switch" -> contextSwitchTime = Integer.parseInt(requireValue(args, ++i));
+                    case "--jmx" -> SchedulerInstrumentation.registerMBean();
+                    case "--help", "-h" -> {
+                        printUsage();
+                        return;
+                    }
+                    default -> inputs.add(Paths.get(args[i]));
+                }
+            }
+            if (algorithm == null || inputs.isEmpty()) {
+                throw new IllegalArgumentException("An algorithm and at least one trace are required.");
+            }
+            if (Controller.usesTimeQuantum(algorithm) && quantumTime <= 0 && feedbackQuanta == null) {
+                throw new IllegalArgumentException("Time Quantum must be positive.");
+            }
+            if (boostInterval < -1) {
+                throw new IllegalArgumentException("Boost interval must not be negative.");
+            }
+            if (targetLatency == 0 || targetLatency < -1 || minimumGranularity == 0 || minimumGranularity < -1) {
+                throw new IllegalArgumentException("Target latency and minimum granularity must be positive.");
+            }
+            if (agingInterval < 0) {
+                throw new IllegalArgumentException("Aging interval must not be negative.");
+            }
+            if (contextSwitchTime < 0) {
+                throw new IllegalArgumentException("Context switch time must not be negative.");
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            printUsage();
+            System.exit(2);
+            return;
+        }
+
+        int[] levels = feedbackQuanta;
+        int boost = boostInterval;
+        int latency = targetLatency;
+        int granularity = minimumGranularity;
+        int aging = agingInterval;
+        int switchTime = contextSwitchTime;
+        Consumer<Controller> settings = controller -> {
+            if (levels != null) {
+                controller.setFeedbackQuanta(levels);
+            }
+            if (boost >= 0) {
+                controller.setBoostInterval(boost);
+            }
+            if (latency >= 0) {
+                controller.setTargetLatency(latency);
+            }
+            if (granularity >= 0) {
+                controller.setMinimumGranularity(granularity);
+            }
+            controller.setAgingInterval(aging);
+            controller.setContextSwitchTime(switchTime);
+        };
+
+        int failures = 0;
+        // Every trace's distributions merged, for percentiles over the whole batch
+        LatencyHistogram turnaroundTimes = new LatencyHistogram();
+        LatencyHistogram waitingTimes = new LatencyHistogram();
+        LatencyHistogram responseTimes = new LatencyHistogram();
+        try {
+            Files.createDirectories(outputDirectory);
+            try (BufferedWriter summary = Files.newBufferedWriter(outputDirectory.resolve("summary.csv"), StandardCharsets.UTF_8)) {
+                summary.write("trace,algorithm,quantum,processes,totalTurnaroundTime,averageTurnaroundTime,totalWaitingTime,averageWaitingTime,"
+                    + "totalResponseTime,averageResponseTime," + percentileHeader("turnaroundTime") + ","
+                    + percentileHeader("waitingTime") + "," + percentileHeader("responseTime") + ",contextSwitchTime,contextSwitches,"
+                    + "cpuUtilization,throughput");
+                summary.newLine();
+                for (Path trace : listTraces(inputs)) {
+                    try {
+                        Controller controller = runTrace(trace, algorithm, quantumTime, outputDirectory, settings);
+                        summary.write(String.format(Locale.ROOT, "%s,%s,%d,%d,%d,%.2f,%d,%.2f,%d,%.2f,%s,%s,%s,%d,%d,%.4f,%.6f",
+                            csvField(trace.getFileName().toString()), csvField(algorithm), quantumTime,
+                            controller.getProcessTable().size(),
+                            controller.getTotalTurnaroundTime(), controller.getAverageTurnaroundTime(),
+                            controller.getTotalWaitingTime(), controller.getAverageWaitingTime(),
+                            controller.getTotalResponseTime(), controller.getAverageResponseTime(),
+                            percentiles(controller.getTurnaroundTimeHistogram()), percentiles(controller.getWaitingTimeHistogram()),
+                            percentiles(controller.getResponseTimeHistogram()), contextSwitchTime, controller.getContextSwitchCount(),
+                            controller.getCpuUtilization(), controller.getThroughput()));
+                        summary.newLine();
+                        turnaroundTimes.add(controller.getTurnaroundTimeHistogram());
+                        waitingTimes.add(controller.getWaitingTimeHistogram());
+                        responseTimes.add(controller.getResponseTimeHistogram());
+                    } catch (IOException | UncheckedIOException | IllegalArgumentException e) {
+                        System.err.println("Failed " + trace + ": " + e.getMessage());
+                        failures++;
+                    }
+                }
+            }
+            try (BufferedWriter percentiles = Files.newBufferedWriter(outputDirectory.resolve("percentiles.csv"), StandardCharsets.UTF_8)) {
+                percentiles.write("metric,processes,mean,p50,p99,p99.9,max");
+                percentiles.newLine();
+                writePercentileRow(percentiles, "turnaroundTime", turnaroundTimes);
+                writePercentileRow(percentiles, "waitingTime", waitingTimes);
+                writePercentileRow(percentiles, "responseTime", responseTimes);
+            }
+        } catch (IOException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        }
+
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    public static Controller runTrace(Path trace, String algorithm, int quantumTime, Path outputDirectory) throws IOException {
+        return runTrace(trace, algorithm, quantumTime, outputDirectory, controller -> { });
+    }
+
+    // settings configures the controller before it runs, e.g. the MLFQ levels
+    public static Controller runTrace(Path trace, String algorithm, int quantumTime, Path outputDirectory,
+            Consumer<Controller> settings) throws IOException {
+        ProcessTable table = TraceLoader.load(trace);
+        if (table.size() == 0) {
+            throw new IllegalArgumentException("trace has no processes");
+        }
+        String baseName = baseName(trace);
+        Controller controller = new Controller(table, quantumTime);
+        settings.accept(controller);
+
+        // Stream the timeline straight to disk so long schedules are never held in memory
+        try (BufferedWriter timelineWriter = Files.newBufferedWriter(outputDirectory.resolve(baseName + ".timeline.csv"), StandardCharsets.UTF_8)) {
+            timelineWriter.write("processID,startTime,duration");
+            timelineWriter.newLine();
+            controller.setScheduleSink(new CsvTimelineSink(timelineWriter));
+            controller.execute(algorithm);
+        }
+
+        try (BufferedWriter metricsWriter = Files.newBufferedWriter(outputDirectory.resolve(baseName + ".metrics.csv"), StandardCharsets.UTF_8)) {
+            metricsWriter.write("processID,arrivalTime,burstTime,priority,completionTime,turnaroundTime,waitingTime,responseTime,blockedTime");
+            metricsWriter.newLine();
+            for (int i = 0; i < table.size(); i++) {
+                metricsWriter.write(csvField(table.getProcessID(i)) + "," + table.getArrivalTime(i) + "," + table.getBurstTime(i) + ","
+                    + table.getPriority(i) + "," + table.getCompletionTime(i) + "," + table.getTurnaroundTime(i) + ","
+                    + table.getWaitingTime(i) + "," + table.getResponseTime(i) + "," + table.getBlockedTime(i));
+                metricsWriter.newLine();
+            }
+        }
+
+        IODevices devices = controller.getIODevices();
+        if (devices != null) {
+            try (BufferedWriter devicesWriter = Files.newBufferedWriter(outputDirectory.resolve(baseName + ".devices.csv"), StandardCharsets.UTF_8)) {
+                devicesWriter.write("device,requests,busyTime,utilization,averageQueueTime");
+                devicesWriter.newLine();
+                for (int device = 0; device < devices.getDeviceCount(); device++) {
+                    devicesWriter.write(String.format(Locale.ROOT, "%d,%d,%d,%.4f,%.2f", device, devices.getRequestCount(device),
+                        devices.getBusyTime(device), controller.getDeviceUtilization(device), devices.getAverageQueueTime(device)));
+                    devicesWriter.newLine();
+                }
+            }
+        }
+
+        // Tail waiting time per priority class, for algorithms where priority decides the order
+        if (Controller.usesPriority(algorithm)) {
+            try (BufferedWriter prioritiesWriter = Files.newBufferedWriter(outputDirectory.resolve(baseName + ".priorities.csv"), StandardCharsets.UTF_8)) {
+                prioritiesWriter.write("priority,processes,averageWaitingTime,maximumWaitingTime");
+                prioritiesWriter.newLine();
+                for (Controller.PriorityClassWaits waits : controller.getWaitingTimeByPriority()) {
+                    prioritiesWriter.write(String.format(Locale.ROOT, "%d,%d,%.2f,%d", waits.priority, waits.processCount,
+                        waits.getAverageWaitingTime(), waits.maximumWaitingTime));
+                    prioritiesWriter.newLine();
+                }
+            }
+        }
+        return controller;
+    }
+
+    // Accepts the names shown in the UI, ignoring case, spaces, dashes and underscores
+    public static String resolveAlgorithm(String name) {
+        String key = name.toLowerCase(Locale.ROOT).replaceAll("[^a-z]", "");
+        if (key.equals("rr")) {
+            return "Round Robin";
+        }
+        if (key.equals("mlfq")) {
+            return "Multilevel Feedback Queue";
+        }
+        if (key.equals("cfs")) {
+            return "Completely Fair Scheduler";
+        }
+        for (String algorithm : Controller.ALGORITHMS) {
+            if (algorithm.toLowerCase(Locale.ROOT).replaceAll("[^a-z]", "").equals(key)) {
+                return algorithm;
+            }
+        }
+        throw new IllegalArgumentException("Unknown algorithm: " + name);
+    }
+
+    private static List<Path> listTraces(List<Path> inputs) throws IOException {
+        List<Path> traces = new ArrayList<>();
+        for (Path input : inputs) {
+            if (Files.isDirectory(input)) {
+                try (DirectoryStream<Path> directory = Files.newDirectoryStream(input, "*.{csv,json,bin}")) {
+                    List<Path> found = new ArrayList<>();
+                    directory.forEach(found::add);
+                    found.sort(null);
+                    traces.addAll(found);
+                }
+            } else {
+                traces.add(input);
+            }
+        }
+        return traces;
+    }
+
+    private static String baseName(Path trace) {
+        String name = trace.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(0, dot) : name;
+    }
+
+    // Quotes a value per RFC 4180 if it holds a comma, quote or line break. IDs from JSON traces may.
+    static String csvField(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\r' || c == '\n') {
+                return '"' + value.replace("\"", "\"\"") + '"';
+            }
+        }
+        return value;
+    }
+
+    private static String percentileHeader(String metric) {
+        return metric + "P50," + metric + "P99," + metric + "P999," + metric + "Max";
+    }
+
+    private static String percentiles(LatencyHistogram histogram) {
+        return histogram.getValueAtPercentile(50) + "," + histogram.getValueAtPercentile(99) + ","
+            + histogram.getValueAtPercentile(99.9) + "," + histogram.getMax();
+    }
+
+    private static void writePercentileRow(BufferedWriter writer, String metric, LatencyHistogram histogram) throws IOException {
+        writer.write(String.format(Locale.ROOT, "%s,%d,%.2f,%s", metric, histogram.getCount(), histogram.getMean(), percentiles(histogram)));
+        writer.newLine();
+    }
+
+    // Comma-separated MLFQ quanta, top level first
+    private static int[] parseQuanta(String value) {
+        String[] parts = value.split(",");
+        int[] quanta = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            quanta[i] = Integer.parseInt(parts[i].trim());
+            if (quanta[i] <= 0) {
+                throw new IllegalArgumentException("Every level's time quantum must be positive.");
+            }
+        }
+        return quanta;
+    }
+
+    private static String requireValue(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException(args[index - 1] + " needs a value.");
+        }
+        return args[index];
+    }
+
+    private static void printUsage() {
+        System.err.println("Usage: java BatchRunner --algorithm <name> [--quantum <n>] [--context-switch <n>] [--output <dir>] [--jmx] <trace or directory>...");
+        System.err.println("       Multilevel Feedback Queue also takes [--levels <q1,q2,...>] [--boost <interval>]");
+        System.err.println("       Completely Fair Scheduler also takes [--target-latency <n>] [--min-granularity <n>]");
+        System.err.println("       Priority algorithms also take [--aging <interval>]");
+        System.err.println("Algorithms: " + String.join(", ", Controller.ALGORITHMS));
+    }
+
+    // Writes each slice as a CSV row as soon as the controller produces it
+    private static class CsvTimelineSink implements ScheduleSink {
+        private final BufferedWriter writer;
+        private ProcessTable table;
+
+        CsvTimelineSink(BufferedWriter writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void onStart(ProcessTable table) {
+            this.table = table;
+        }
+
+        @Override
+        public void onSlice(int processIndex, long startTime, long duration) {
+            try {
+                writer.write(csvField(Timeline.getProcessID(table, processIndex)));
+                writer.write(',');
+                writer.write(Long.toString(startTime));
+                writer.write(',');
+                writer.write(Long.toString(duration));
+                writer.newLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
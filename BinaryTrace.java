@@ -0,0 +1,294 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+// Fixed-width binary trace format, read through a memory-mapped FileChannel.
+//
+// Header (32 bytes, little-endian):
+//   int magic "CPUT", int version, long record count, int ID field width, 12 reserved bytes
+//   (older files set an unused arrival-order flag in the first reserved int)
+// Record, version 2:
+//   ID (UTF-8, zero padded to the ID field width), long arrival, long burst, int priority
+// Record, version 1 (still read, no longer written):
+//   ID, int arrival, int burst, int priority
+//
+// Writer streams records to a file, so traces larger than memory can be produced.
+// Loading copies the numeric fields straight into a ProcessTable and applies the same
+// checks as the CSV and JSON loaders: times must not be negative, bursts must be
+// positive and IDs unique. Uniqueness is checked by hashing the raw ID fields, and ID
+// strings are decoded from the mapping only when a process ID is first asked for.
+//
+// Usage: java BinaryTrace <trace.csv|trace.json> <trace.bin>
+public class BinaryTrace {
+    public static final int MAGIC = 0x43505554; // "CPUT"
+    public static final int VERSION = 2;
+    private static final int VERSION_1 = 1;
+    public static final int HEADER_SIZE = 32;
+    public static final int DEFAULT_ID_WIDTH = 16;
+    public static final int MAX_ID_WIDTH = 4096;
+    private static final int MAX_CHUNK_BYTES = 1 << 30; // Each mapping must stay below 2 GB
+
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.err.println("Usage: java BinaryTrace <trace.csv|trace.json> <trace.bin>");
+            System.exit(2);
+        }
+        try {
+            ProcessTable table = TraceLoader.load(Paths.get(args[0]));
+            write(table, Paths.get(args[1]));
+            System.out.println("Wrote " + table.size() + " processes to " + args[1]);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    public static ProcessTable load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                throw new IOException(path + ": file is too short to be a binary trace");
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt(0) != MAGIC) {
+                throw new IOException(path + ": not a binary trace");
+            }
+            int version = header.getInt(4);
+            if (version != VERSION && version != VERSION_1) {
+                throw new IOException(path + ": unsupported binary trace version " + version);
+            }
+            long recordCount = header.getLong(8);
+            int idWidth = header.getInt(16);
+            if (recordCount < 0 || recordCount > Integer.MAX_VALUE - 8 || idWidth <= 0 || idWidth > MAX_ID_WIDTH) {
+                throw new IOException(path + ": corrupt header");
+            }
+            int recordSize = idWidth + numericFieldsSize(version);
+            if ((channel.size() - HEADER_SIZE) / recordSize < recordCount) {
+                throw new IOException(path + ": truncated, expected " + recordCount + " records");
+            }
+
+            int count = (int) recordCount;
+            int recordsPerChunk = MAX_CHUNK_BYTES / recordSize;
+            MappedByteBuffer[] chunks = new MappedByteBuffer[(count + recordsPerChunk - 1) / recordsPerChunk];
+            ProcessTable table = new ProcessTable(count);
+
+            try {
+                for (int chunk = 0; chunk < chunks.length; chunk++) {
+                    int first = chunk * recordsPerChunk;
+                    int records = Math.min(recordsPerChunk, count - first);
+                    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY,
+                        HEADER_SIZE + (long) first * recordSize, (long) records * recordSize);
+                    buffer.order(ByteOrder.LITTLE_ENDIAN);
+                    chunks[chunk] = buffer;
+
+                    if (version == VERSION_1) {
+                        for (int record = 0, position = idWidth; record < records; record++, position += recordSize) {
+                            int burstTime = buffer.getInt(position + 4);
+                            if (burstTime <= 0) {
+                                throw new IOException(path + ": corrupt record " + (first + record) + ", burst time must be positive");
+                            }
+                            table.add(null, buffer.getInt(position), burstTime, buffer.getInt(position + 8));
+                        }
+                    } else {
+                        for (int record = 0, position = idWidth; record < records; record++, position += recordSize) {
+                            long burstTime = buffer.getLong(position + 8);
+                            if (burstTime <= 0) {
+                                throw new IOException(path + ": corrupt record " + (first + record) + ", burst time must be positive");
+                            }
+                            table.add(null, buffer.getLong(position), burstTime, buffer.getInt(position + 16));
+                        }
+                    }
+                }
+            } catch (IllegalArgumentException e) {
+                // ProcessTable rejects negative times
+                throw new IOException(path + ": corrupt record");
+            }
+
+            // The mappings stay valid after the channel is closed
+            MappedProcessIDs processIDs = new MappedProcessIDs(chunks, recordsPerChunk, recordSize, idWidth);
+            int duplicate = processIDs.findDuplicate(count);
+            if (duplicate >= 0) {
+                throw new IOException(path + ": Duplicate Process ID found: " + processIDs.getProcessID(duplicate)
+                    + ". Process IDs must be unique.");
+            }
+            table.setProcessIDSource(processIDs);
+            return table;
+        }
+    }
+
+    // Writes the table sorted by arrival time, so loading it needs no sort
+    public static void write(ProcessTable table, Path path) throws IOException {
+        write(table, path, DEFAULT_ID_WIDTH);
+    }
+
+    // Binary traces hold a single CPU burst per process
+    public static void write(ProcessTable table, Path path, int idWidth) throws IOException {
+        if (table.hasIO()) {
+            throw new IllegalArgumentException("Binary traces cannot hold I/O bursts.");
+        }
+        table.sortByArrival();
+        try (Writer writer = new Writer(path, idWidth)) {
+            for (int i = 0; i < table.size(); i++) {
+                writer.add(table.getProcessID(i), table.getArrivalTime(i), table.getBurstTime(i), table.getPriority(i));
+            }
+        }
+    }
+
+    private static int numericFieldsSize(int version) {
+        return version == VERSION_1 ? 12 : 20;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    // Streams records to a binary trace without holding them in memory. The header is
+    // written last, once the record count is known.
+    public static class Writer implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private final int idWidth;
+        private final int recordSize;
+        private long count = 0;
+
+        public Writer(Path path) throws IOException {
+            this(path, DEFAULT_ID_WIDTH);
+        }
+
+        public Writer(Path path, int idWidth) throws IOException {
+            if (idWidth <= 0 || idWidth > MAX_ID_WIDTH) {
+                throw new IllegalArgumentException("ID field width must be between 1 and " + MAX_ID_WIDTH + ".");
+            }
+            this.idWidth = idWidth;
+            this.recordSize = idWidth + numericFieldsSize(VERSION);
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+            channel.position(HEADER_SIZE);
+            buffer = ByteBuffer.allocateDirect(Math.max(recordSize, 1 << 16) / recordSize * recordSize)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        public void add(String processID, long arrivalTime, long burstTime, int priority) throws IOException {
+            byte[] id = processID.getBytes(StandardCharsets.UTF_8);
+            if (id.length > idWidth) {
+                throw new IOException("Process ID " + processID + " is longer than " + idWidth + " bytes");
+            }
+            if (arrivalTime < 0 || burstTime <= 0) {
+                throw new IOException("Process ID " + processID + " needs a non-negative arrival time and a positive burst time");
+            }
+            if (buffer.remaining() < recordSize) {
+                buffer.flip();
+                writeFully(channel, buffer);
+                buffer.clear();
+            }
+            buffer.put(id);
+            for (int pad = id.length; pad < idWidth; pad++) {
+                buffer.put((byte) 0);
+            }
+            buffer.putLong(arrivalTime).putLong(burstTime).putInt(priority);
+            count++;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                buffer.flip();
+                writeFully(channel, buffer);
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+                header.putInt(MAGIC).putInt(VERSION).putLong(count).putInt(idWidth);
+                header.clear();
+                channel.position(0);
+                writeFully(channel, header);
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    // Decodes the zero-padded ID field of a record from the mapped file
+    private static class MappedProcessIDs implements ProcessTable.ProcessIDSource {
+        private final MappedByteBuffer[] chunks;
+        private final int recordsPerChunk;
+        private final int recordSize;
+        private final int idWidth;
+
+        MappedProcessIDs(MappedByteBuffer[] chunks, int recordsPerChunk, int recordSize, int idWidth) {
+            this.chunks = chunks;
+            this.recordsPerChunk = recordsPerChunk;
+            this.recordSize = recordSize;
+            this.idWidth = idWidth;
+        }
+
+        // Index of the first record whose ID repeats an earlier one, or -1. Chains record
+        // indices by the hash of their raw ID bytes, so no strings are decoded.
+        int findDuplicate(int count) {
+            int[] heads = new int[(int) Math.min(Long.highestOneBit(Math.max(count, 1)) << 1, 1 << 30)]; // Index + 1, 0 if empty
+            int[] next = new int[count];
+            int mask = heads.length - 1;
+            for (int index = 0; index < count; index++) {
+                int bucket = hash(index) & mask;
+                for (int other = heads[bucket] - 1; other >= 0; other = next[other] - 1) {
+                    if (sameProcessID(index, other)) {
+                        return index;
+                    }
+                }
+                next[index] = heads[bucket];
+                heads[bucket] = index + 1;
+            }
+            return -1;
+        }
+
+        private int hash(int index) {
+            MappedByteBuffer chunk = chunks[index / recordsPerChunk];
+            int start = (index % recordsPerChunk) * recordSize;
+            int hash = 0;
+            for (int i = 0; i < idWidth; i++) {
+                byte value = chunk.get(start + i);
+                if (value == 0) {
+                    break;
+                }
+                hash = hash * 31 + value;
+            }
+            return hash ^ (hash >>> 16);
+        }
+
+        // IDs end at the first zero byte, like getProcessID reads them
+        private boolean sameProcessID(int first, int second) {
+            MappedByteBuffer firstChunk = chunks[first / recordsPerChunk];
+            MappedByteBuffer secondChunk = chunks[second / recordsPerChunk];
+            int firstStart = (first % recordsPerChunk) * recordSize;
+            int secondStart = (second % recordsPerChunk) * recordSize;
+            for (int i = 0; i < idWidth; i++) {
+                byte value = firstChunk.get(firstStart + i);
+                if (value != secondChunk.get(secondStart + i)) {
+                    return false;
+                }
+                if (value == 0) {
+                    return true;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public String getProcessID(int index) {
+            MappedByteBuffer chunk = chunks[index / recordsPerChunk];
+            int start = (index % recordsPerChunk) * recordSize;
+            int length = 0;
+            while (length < idWidth && chunk.get(start + length) != 0) {
+                length++;
+            }
+            byte[] id = new byte[length];
+            chunk.get(start, id);
+            return new String(id, StandardCharsets.UTF_8);
+        }
+    }
+}
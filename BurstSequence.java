@@ -0,0 +1,97 @@
+import java.util.Arrays;
+
+// A process's alternating CPU and I/O bursts: CPU burst 0, I/O burst 0, CPU burst 1, and so
+// on, always ending with a CPU burst. Each I/O burst is served by one device, numbered from 0.
+//
+// The text form separates the bursts with ';' and may prefix an I/O burst with its device,
+// e.g. "5;3;4;1:2;1" runs for 5, waits 3 on device 0, runs for 4, waits 2 on device 1 and
+// runs for 1. A plain number is a single CPU burst.
+public class BurstSequence {
+    private final long[] cpuBursts;
+    private final int[] ioDevices;
+    private final long[] ioTimes;
+
+    public BurstSequence(long[] cpuBursts, int[] ioDevices, long[] ioTimes) {
+        if (cpuBursts.length != ioTimes.length + 1 || ioDevices.length != ioTimes.length) {
+            throw new IllegalArgumentException("A burst sequence needs one more CPU burst than I/O bursts.");
+        }
+        for (long cpuBurst : cpuBursts) {
+            if (cpuBurst < 0) {
+                throw new IllegalArgumentException("CPU bursts must not be negative.");
+            }
+        }
+        for (int i = 0; i < ioTimes.length; i++) {
+            if (ioTimes[i] < 0 || ioDevices[i] < 0) {
+                throw new IllegalArgumentException("I/O bursts and device numbers must not be negative.");
+            }
+        }
+        this.cpuBursts = cpuBursts.clone();
+        this.ioDevices = ioDevices.clone();
+        this.ioTimes = ioTimes.clone();
+    }
+
+    // Throws IllegalArgumentException if the text is not a burst sequence
+    public static BurstSequence parse(String text) {
+        String[] parts = text.split(";", -1);
+        if (parts.length % 2 == 0) {
+            throw new IllegalArgumentException("A burst sequence must start and end with a CPU burst: " + text);
+        }
+        int ioCount = parts.length / 2;
+        long[] cpuBursts = new long[ioCount + 1];
+        int[] ioDevices = new int[ioCount];
+        long[] ioTimes = new long[ioCount];
+        for (int i = 0; i < parts.length; i++) {
+            String part = parts[i].trim();
+            if (i % 2 == 0) {
+                cpuBursts[i / 2] = Long.parseLong(part);
+            } else {
+                int colon = part.indexOf(':');
+                ioDevices[i / 2] = colon < 0 ? 0 : Integer.parseInt(part.substring(0, colon).trim());
+                ioTimes[i / 2] = Long.parseLong(part.substring(colon + 1).trim());
+            }
+        }
+        return new BurstSequence(cpuBursts, ioDevices, ioTimes);
+    }
+
+    public boolean hasIO() {
+        return ioTimes.length > 0;
+    }
+
+    public int getIOBurstCount() {
+        return ioTimes.length;
+    }
+
+    public long getCpuBurst(int burst) {
+        return cpuBursts[burst];
+    }
+
+    public int getIODevice(int burst) {
+        return ioDevices[burst];
+    }
+
+    public long getIOTime(int burst) {
+        return ioTimes[burst];
+    }
+
+    public long getTotalCpuTime() {
+        return Arrays.stream(cpuBursts).sum();
+    }
+
+    public long getTotalIOTime() {
+        return Arrays.stream(ioTimes).sum();
+    }
+
+    // The text form accepted by parse()
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder().append(cpuBursts[0]);
+        for (int i = 0; i < ioTimes.length; i++) {
+            text.append(';');
+            if (ioDevices[i] != 0) {
+                text.append(ioDevices[i]).append(':');
+            }
+            text.append(ioTimes[i]).append(';').append(cpuBursts[i + 1]);
+        }
+        return text.toString();
+    }
+}
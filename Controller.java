@@ -1,280 +1,944 @@
 import java.util.*;
+import java.util.concurrent.CancellationException;
 
 public class Controller {
-    private final List<Process> processes;
+    // Algorithm names accepted by execute(), in the order the UI lists them
+    public static final String[] ALGORITHMS = {
+        "Round Robin", "Preemptive SJF", "Non Preemptive SJF", "Preemptive Priority", "Non Preemptive Priority",
+        "Multilevel Feedback Queue", "Completely Fair Scheduler"
+    };
+    private static final int DEFAULT_FEEDBACK_LEVELS = 3;
+    private static final int DEFAULT_BOOST_QUANTA = 10; // Default boost interval, in largest-level quanta
+    private static final int DEFAULT_TARGET_LATENCY = 24;
+    private static final int DEFAULT_MINIMUM_GRANULARITY = 3;
+    private static final int VIRTUAL_RUNTIME_SHIFT = 20; // Nice 0 weight (2^10), with 10 bits of fraction
+    // Linux's nice-to-weight table for nice -20 to 19; each step is about 10% of CPU share
+    private static final int[] NICE_WEIGHTS = {
+        88761, 71755, 56483, 46273, 36291, 29154, 23254, 18705, 14949, 11916,
+        9548, 7620, 6100, 4904, 3906, 3121, 2501, 1991, 1586, 1277,
+        1024, 820, 655, 526, 423, 335, 272, 215, 172, 137,
+        110, 87, 70, 56, 45, 36, 29, 23, 18, 15
+    };
+
+    private final List<Process> processes; // Null when running directly on a ProcessTable
     private final int quantumTime;
-    private int totalTurnaroundTime = 0;
-    private int totalWaitingTime = 0;
+    private ProcessTable table;
+    private long totalTurnaroundTime = 0;
+    private long totalWaitingTime = 0;
     private double averageTurnaroundTime = 0.0;
     private double averageWaitingTime = 0.0;
-    private final Queue<GanttChartEntry> ganttChartQueue = new LinkedList<>();
+    private long totalResponseTime = 0;
+    private double averageResponseTime = 0.0;
+    // Filled in as processes complete, so percentiles need no pass over the table
+    private final LatencyHistogram turnaroundTimes = new LatencyHistogram();
+    private final LatencyHistogram waitingTimes = new LatencyHistogram();
+    private final LatencyHistogram responseTimes = new LatencyHistogram();
+    private ScheduleSink scheduleSink; // Receives the schedule instead of a Timeline when set
+    private ScheduleSink sink;
+    private Timeline timeline;
+    private int pendingProcess; // Slice held back so adjacent runs of one process reach the sink merged
+    private long pendingStart;
+    private long pendingDuration = 0;
+    private ProgressListener progressListener;
+    private int finishedCount = 0;
+    private volatile boolean cancelled = false;
+    private int[] feedbackQuanta; // Null means the defaults derived from quantumTime
+    private int boostInterval = -1; // Negative means the default, 0 disables boosting
+    private int targetLatency = DEFAULT_TARGET_LATENCY;
+    private int minimumGranularity = DEFAULT_MINIMUM_GRANULARITY;
+    private int agingInterval = 0; // Waiting time per priority level gained, 0 disables aging
+    private int contextSwitchTime = 0; // CPU time charged for each context switch
+    private int cpuProcess; // Process whose context the CPU holds, or Timeline.IDLE
+    private long contextSwitchCount = 0;
+    // Engine counters for the current run, reported by getRunStatistics() and SchedulerInstrumentation.
+    // Decisions are only counted while SchedulerInstrumentation is enabled.
+    private String algorithm;
+    private boolean instrumented;
+    private long decisionCount = 0;
+    private long readyQueueLengthTotal = 0;
+    private int maximumReadyQueueLength = 0;
+    private long endTime = 0; // Time the last process completed
+    private long totalBurstTime = 0; // CPU time of the processes completed so far
+    private IODevices devices; // Null unless the table has I/O bursts
+    private long loadNanos;
+    private long scheduleStartNanos;
+    private SchedulerInstrumentation.RunEvent runEvent;
+    private RunStatistics runStatistics;
+
+    // Told how many processes have finished each time one completes
+    public interface ProgressListener {
+        void onProgress(int finishedCount, int processCount);
+    }
 
     public Controller(List<Process> processes, int quantumTime) {
         this.processes = processes;
         this.quantumTime = quantumTime;
     }
 
+    // Runs the algorithms against a struct-of-arrays table instead of Process objects.
+    // The table is sorted by arrival time before scheduling and holds the results afterwards.
+    public Controller(ProcessTable table, int quantumTime) {
+        this.processes = null;
+        this.table = table;
+        this.quantumTime = quantumTime;
+    }
+
+    // Streams the schedule into the given sink instead of keeping it in a Timeline
+    public void setScheduleSink(ScheduleSink scheduleSink) {
+        this.scheduleSink = scheduleSink;
+    }
+
+    // May be called from the thread running the algorithm, e.g. a background worker
+    public void setProgressListener(ProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    // Stops a running algorithm from another thread; the run throws CancellationException.
+    // Interrupting the thread running the algorithm has the same effect.
+    public void cancel() {
+        cancelled = true;
+    }
+
+    // Multilevel Feedback Queue levels, highest priority first; quanta[i] is level i's time quantum.
+    // Defaults to three levels with quanta of quantumTime, 2 * quantumTime and 4 * quantumTime.
+    public void setFeedbackQuanta(int... quanta) {
+        if (quanta.length == 0) {
+            throw new IllegalArgumentException("Multilevel Feedback Queue needs at least one level.");
+        }
+        for (int quantum : quanta) {
+            if (quantum <= 0) {
+                throw new IllegalArgumentException("Every level's time quantum must be positive.");
+            }
+        }
+        this.feedbackQuanta = quanta.clone();
+    }
+
+    // Time between moving every process back to the top level; 0 turns boosting off
+    public void setBoostInterval(int boostInterval) {
+        if (boostInterval < 0) {
+            throw new IllegalArgumentException("Boost interval must not be negative.");
+        }
+        this.boostInterval = boostInterval;
+    }
+
+    // Priority algorithms: a waiting process's priority improves by one level for every
+    // agingInterval time units it waits, so no process starves. 0 turns aging off.
+    public void setAgingInterval(int agingInterval) {
+        if (agingInterval < 0) {
+            throw new IllegalArgumentException("Aging interval must not be negative.");
+        }
+        this.agingInterval = agingInterval;
+    }
+
+    // CPU time spent on every context switch, charged as a Timeline.CONTEXT_SWITCH entry before
+    // the next process runs, so it adds to turnaround and waiting times. 0 makes switches free.
+    public void setContextSwitchTime(int contextSwitchTime) {
+        if (contextSwitchTime < 0) {
+            throw new IllegalArgumentException("Context switch time must not be negative.");
+        }
+        this.contextSwitchTime = contextSwitchTime;
+    }
+
+    // Completely Fair Scheduler: the period in which every runnable process should run once
+    public void setTargetLatency(int targetLatency) {
+        if (targetLatency <= 0) {
+            throw new IllegalArgumentException("Target latency must be positive.");
+        }
+        this.targetLatency = targetLatency;
+    }
+
+    // Completely Fair Scheduler: the shortest time slice, which stretches the period under load
+    public void setMinimumGranularity(int minimumGranularity) {
+        if (minimumGranularity <= 0) {
+            throw new IllegalArgumentException("Minimum granularity must be positive.");
+        }
+        this.minimumGranularity = minimumGranularity;
+    }
+
+    // Whether the algorithm reads the time quantum passed to the constructor
+    public static boolean usesTimeQuantum(String algorithm) {
+        return algorithm.equals("Round Robin") || algorithm.equals("Multilevel Feedback Queue");
+    }
+
+    // Whether the algorithm reads process priorities; the Completely Fair Scheduler uses them as nice values
+    public static boolean usesPriority(String algorithm) {
+        return algorithm.contains("Priority") || algorithm.equals("Completely Fair Scheduler");
+    }
+
+    public void execute(String algorithm) {
+        switch (algorithm) {
+            case "Round Robin" -> executeRoundRobin();
+            case "Preemptive SJF" -> executePreemptiveSJF();
+            case "Non Preemptive SJF" -> executeNonPreemptiveSJF();
+            case "Preemptive Priority" -> executePreemptivePriority();
+            case "Non Preemptive Priority" -> executeNonPreemptivePriority();
+            case "Multilevel Feedback Queue" -> executeMultilevelFeedbackQueue();
+            case "Completely Fair Scheduler" -> executeCompletelyFair();
+            default -> throw new IllegalArgumentException("Unknown algorithm: " + algorithm);
+        }
+    }
+
     public void executeRoundRobin() {
-        int currentTime = 0;
-        processes.sort(Comparator.comparingInt(Process::getArrivalTime));
-        Queue<Process> readyQueue = new LinkedList<>();
-        Set<String> inQueue = new HashSet<>();
-    
-        while (!allProcessesFinished()) {
-            // Add processes to the ready queue that have arrived by the current time
-            for (Process process : processes) {
-                if (process.getArrivalTime() <= currentTime && !process.isFinished() && !inQueue.contains(process.getProcessID())) {
-                    readyQueue.add(process);
-                    inQueue.add(process.getProcessID());
-                }
+        loadProcesses("Round Robin");
+        long currentTime = 0;
+        int processCount = table.size();
+        IndexQueue readyQueue = new IndexQueue(processCount);
+        int arrivedCount = 0; // Processes before this index have been queued
+        int unfinishedCount = processCount;
+
+        while (unfinishedCount > 0) {
+            checkCancelled();
+
+            // Add processes to the ready queue that have arrived or returned from I/O by the current time
+            for (boolean wake; (wake = ioCompletesFirst(arrivedCount, currentTime))
+                    || (arrivedCount < processCount && table.getArrivalTime(arrivedCount) <= currentTime); ) {
+                readyQueue.add(wake ? devices.completeNext() : arrivedCount++);
             }
-    
+
             if (!readyQueue.isEmpty()) {
-                Process process = readyQueue.poll();
-                int timeSlice = Math.min(quantumTime, process.getRemainingBurstTime());
-                ganttChartQueue.add(new GanttChartEntry(String.valueOf(process.getProcessID()), currentTime, timeSlice));
-    
+                recordDecision(readyQueue.size());
+                int process = readyQueue.poll();
+                currentTime = dispatch(process, currentTime);
+                long timeSlice = Math.min(quantumTime, table.getRemainingBurstTime(process));
+                emitSlice(process, currentTime, timeSlice);
+
                 currentTime += timeSlice;
-                process.reduceRemainingBurstTime(timeSlice);
-    
-                // Re-add processes that arrived during the current time slice
-                for (Process p : processes) {
-                    if (p.getArrivalTime() <= currentTime && !p.isFinished() && !inQueue.contains(p.getProcessID())) {
-                        readyQueue.add(p);
-                        inQueue.add(p.getProcessID());
-                    }
+                table.reduceRemainingBurstTime(process, timeSlice);
+
+                // Add processes that became ready during the current time slice before re-queueing this one
+                for (boolean wake; (wake = ioCompletesFirst(arrivedCount, currentTime))
+                        || (arrivedCount < processCount && table.getArrivalTime(arrivedCount) <= currentTime); ) {
+                    readyQueue.add(wake ? devices.completeNext() : arrivedCount++);
                 }
-    
-                if (process.getRemainingBurstTime() == 0) {
-                    process.setCompletionTime(currentTime);
-                    process.markAsFinished();
-                    System.out.println(process.getProcessID() + " = " + process.getCompletionTime());
+
+                if (table.getRemainingBurstTime(process) == 0) {
+                    if (finishBurst(process, currentTime)) {
+                        unfinishedCount--;
+                    }
                 } else {
                     readyQueue.add(process);
                 }
             } else {
-                // Handle idle time
-                final int finalCurrentTime = currentTime;
-                int nextArrivalTime = processes.stream()
-                        .filter(p -> !p.isFinished() && p.getArrivalTime() > finalCurrentTime)
-                        .mapToInt(Process::getArrivalTime)
-                        .min()
-                        .orElse(Integer.MAX_VALUE);
-    
-                if (nextArrivalTime != Integer.MAX_VALUE) {
-                    int idleTime = nextArrivalTime - currentTime;
-                    ganttChartQueue.add(new GanttChartEntry("IDLE", currentTime, idleTime));
-                    currentTime = nextArrivalTime;
-                }
+                // Handle idle time by jumping to the next arrival or I/O completion
+                long nextReadyTime = nextReadyTime(arrivedCount);
+                emitSlice(Timeline.IDLE, currentTime, nextReadyTime - currentTime);
+                currentTime = nextReadyTime;
             }
         }
-    
-        calculateMetrics();
+
+        finishRun();
     }
 
     public void executeNonPreemptivePriority() {
-        int currentTime = 0;
-        processes.sort(Comparator.comparingInt(Process::getArrivalTime));
-
-        while (!allProcessesFinished()) {
-            Process nextProcess = null;
-            for (Process process : processes) {
-                if (process.getArrivalTime() <= currentTime && !process.isFinished()) {
-                    if (nextProcess == null || process.getPriority() < nextProcess.getPriority()) {
-                        nextProcess = process;
-                    }
-                }
+        loadProcesses("Non Preemptive Priority");
+        long currentTime = 0;
+        int processCount = table.size();
+        ReadyQueue readyQueue = new ReadyQueue(processCount);
+        int arrivedCount = 0;
+        int unfinishedCount = processCount;
+
+        while (unfinishedCount > 0) {
+            checkCancelled();
+
+            // Move processes that have arrived or returned from I/O by the current time into the ready queue
+            while (arrivedCount < processCount && table.getArrivalTime(arrivedCount) <= currentTime) {
+                readyQueue.add(arrivedCount, priorityKey(arrivedCount, table.getArrivalTime(arrivedCount)));
+                arrivedCount++;
+            }
+            while (devices != null && devices.getNextCompletionTime() <= currentTime) {
+                long readyTime = devices.getNextCompletionTime();
+                int process = devices.completeNext();
+                readyQueue.add(process, priorityKey(process, readyTime));
             }
 
-            if (nextProcess != null) {
-                int timeSlice = nextProcess.getRemainingBurstTime();
-                ganttChartQueue.add(new GanttChartEntry(String.valueOf(nextProcess.getProcessID()), currentTime, timeSlice));
+            if (!readyQueue.isEmpty()) {
+                recordDecision(readyQueue.size());
+                int nextProcess = readyQueue.poll();
+                currentTime = dispatch(nextProcess, currentTime);
+                long timeSlice = table.getRemainingBurstTime(nextProcess);
+                emitSlice(nextProcess, currentTime, timeSlice);
 
                 currentTime += timeSlice;
-                nextProcess.setCompletionTime(currentTime);
-                nextProcess.markAsFinished();
+                table.reduceRemainingBurstTime(nextProcess, timeSlice);
+                if (finishBurst(nextProcess, currentTime)) {
+                    unfinishedCount--;
+                }
             } else {
-                ganttChartQueue.add(new GanttChartEntry("IDLE", currentTime, 1));
-                currentTime++;
+                // Handle idle time by jumping to the next arrival or I/O completion
+                long nextReadyTime = nextReadyTime(arrivedCount);
+                emitSlice(Timeline.IDLE, currentTime, nextReadyTime - currentTime);
+                currentTime = nextReadyTime;
             }
         }
 
-        calculateMetrics();
+        finishRun();
     }
 
     public void executeNonPreemptiveSJF() {
-        int currentTime = 0;
-        processes.sort(Comparator.comparingInt(Process::getArrivalTime));
-
-        while (!allProcessesFinished()) {
-            Process shortestJob = null;
-            for (Process process : processes) {
-                if (process.getArrivalTime() <= currentTime && !process.isFinished()) {
-                    if (shortestJob == null || process.getInitialBurstTime() < shortestJob.getInitialBurstTime()) {
-                        shortestJob = process;
-                    }
-                }
+        loadProcesses("Non Preemptive SJF");
+        long currentTime = 0;
+        int processCount = table.size();
+        ReadyQueue readyQueue = new ReadyQueue(processCount);
+        int arrivedCount = 0;
+        int unfinishedCount = processCount;
+
+        while (unfinishedCount > 0) {
+            checkCancelled();
+
+            // Move processes that have arrived or returned from I/O by the current time into the
+            // ready queue, keyed by their next CPU burst
+            while (arrivedCount < processCount && table.getArrivalTime(arrivedCount) <= currentTime) {
+                readyQueue.add(arrivedCount, table.getRemainingBurstTime(arrivedCount));
+                arrivedCount++;
+            }
+            while (devices != null && devices.getNextCompletionTime() <= currentTime) {
+                int process = devices.completeNext();
+                readyQueue.add(process, table.getRemainingBurstTime(process));
             }
 
-            if (shortestJob != null) {
-                int timeSlice = shortestJob.getInitialBurstTime();
-                ganttChartQueue.add(new GanttChartEntry(String.valueOf(shortestJob.getProcessID()), currentTime, timeSlice));
+            if (!readyQueue.isEmpty()) {
+                recordDecision(readyQueue.size());
+                int shortestJob = readyQueue.poll();
+                currentTime = dispatch(shortestJob, currentTime);
+                long timeSlice = table.getRemainingBurstTime(shortestJob);
+                emitSlice(shortestJob, currentTime, timeSlice);
 
                 currentTime += timeSlice;
-                shortestJob.setCompletionTime(currentTime);
-                shortestJob.markAsFinished();
+                table.reduceRemainingBurstTime(shortestJob, timeSlice);
+                if (finishBurst(shortestJob, currentTime)) {
+                    unfinishedCount--;
+                }
             } else {
-                ganttChartQueue.add(new GanttChartEntry("IDLE", currentTime, 1));
-                currentTime++;
+                // Handle idle time by jumping to the next arrival or I/O completion
+                long nextReadyTime = nextReadyTime(arrivedCount);
+                emitSlice(Timeline.IDLE, currentTime, nextReadyTime - currentTime);
+                currentTime = nextReadyTime;
             }
         }
 
-        calculateMetrics();
+        finishRun();
     }
 
     public void executePreemptivePriority() {
-        int currentTime = 0;
-        GanttChartEntry currentEntry = null;
-    
-        while (!allProcessesFinished()) {
-            Process highestPriorityProcess = null;
-    
-            // Find the highest priority process that is ready to execute
-            for (Process process : processes) {
-                if (process.getArrivalTime() <= currentTime && !process.isFinished()) {
-                    if (highestPriorityProcess == null || 
-                        process.getPriority() < highestPriorityProcess.getPriority() ||
-                        (process.getPriority() == highestPriorityProcess.getPriority() && process.getArrivalTime() < highestPriorityProcess.getArrivalTime())) {
-                        highestPriorityProcess = process;
-                    }
+        loadProcesses("Preemptive Priority");
+        long currentTime = 0;
+        int processCount = table.size();
+        ReadyQueue readyQueue = new ReadyQueue(processCount);
+        int running = -1; // Index of the process on the CPU, kept out of the ready queue
+        long runningKey = 0; // Ready queue key of the running process when it was dispatched
+        long dispatchTime = 0;
+        int arrivedCount = 0;
+        int unfinishedCount = processCount;
+
+        while (unfinishedCount > 0) {
+            checkCancelled();
+
+            // Move processes that have arrived or returned from I/O by the current time into the ready queue
+            while (arrivedCount < processCount && table.getArrivalTime(arrivedCount) <= currentTime) {
+                readyQueue.add(arrivedCount, priorityKey(arrivedCount, table.getArrivalTime(arrivedCount)));
+                arrivedCount++;
+            }
+            while (devices != null && devices.getNextCompletionTime() <= currentTime) {
+                long readyTime = devices.getNextCompletionTime();
+                int process = devices.completeNext();
+                readyQueue.add(process, priorityKey(process, readyTime));
+            }
+            long nextReadyTime = nextReadyTime(arrivedCount);
+
+            // Preempt the running process if a ready one now has a higher priority
+            if (running < 0 || readyQueue.headPrecedes(running, agedRunningKey(runningKey, currentTime - dispatchTime))) {
+                if (running >= 0) {
+                    readyQueue.add(running, priorityKey(running, currentTime));
+                }
+                if (readyQueue.isEmpty()) {
+                    running = -1;
+                } else {
+                    recordDecision(readyQueue.size());
+                    runningKey = readyQueue.peekKey();
+                    running = readyQueue.poll();
+                    dispatchTime = currentTime;
                 }
             }
-    
-            if (highestPriorityProcess != null) {
-                // If a new process is selected or there's no current entry, handle the Gantt chart entry
-                if (currentEntry == null || !currentEntry.processID.equals(String.valueOf(highestPriorityProcess.getProcessID()))) {
-                    if (currentEntry != null) {
-                        ganttChartQueue.add(currentEntry);
-                    }
-                    currentEntry = new GanttChartEntry(String.valueOf(highestPriorityProcess.getProcessID()), currentTime, 0);
+
+            if (running >= 0 && running != cpuProcess) {
+                long switchEndTime = dispatch(running, currentTime);
+                if (switchEndTime > currentTime) {
+                    // Arrivals during the switch are queued, and may preempt, before the process runs
+                    currentTime = switchEndTime;
+                    continue;
                 }
-    
-                currentEntry.duration++;
-                highestPriorityProcess.reduceRemainingBurstTime(1);
-                currentTime++;
-    
-                if (highestPriorityProcess.getRemainingBurstTime() == 0) {
-                    highestPriorityProcess.setCompletionTime(currentTime);
-                    highestPriorityProcess.markAsFinished();
-                    ganttChartQueue.add(currentEntry);
-                    currentEntry = null; // Reset current entry since the process is finished
+            }
+            if (running >= 0) {
+                // Only a process becoming ready can preempt, so run until the burst ends or the next
+                // arrival or I/O completion. With aging, a waiting process can also overtake the running one.
+                long timeSlice = Math.min(table.getRemainingBurstTime(running), nextReadyTime - currentTime);
+                if (agingInterval > 0 && !readyQueue.isEmpty()) {
+                    long overtake = readyQueue.peekKey() - runningKey + (readyQueue.peek() < running ? 0 : 1);
+                    timeSlice = Math.min(timeSlice, dispatchTime + overtake - currentTime);
                 }
-            } else {
-                // Handle idle time
-                if (currentEntry == null || !currentEntry.processID.equals("IDLE")) {
-                    if (currentEntry != null) {
-                        ganttChartQueue.add(currentEntry);
+                emitSlice(running, currentTime, timeSlice);
+                table.reduceRemainingBurstTime(running, timeSlice);
+                currentTime += timeSlice;
+
+                if (table.getRemainingBurstTime(running) == 0) {
+                    if (finishBurst(running, currentTime)) {
+                        unfinishedCount--;
                     }
-                    currentEntry = new GanttChartEntry("IDLE", currentTime, 0);
+                    running = -1;
                 }
-    
-                currentEntry.duration++;
-                currentTime++;
+            } else {
+                // Handle idle time up to the next arrival or I/O completion
+                emitSlice(Timeline.IDLE, currentTime, nextReadyTime - currentTime);
+                currentTime = nextReadyTime;
             }
         }
-    
-        // Add the last Gantt chart entry if it exists
-        if (currentEntry != null) {
-            ganttChartQueue.add(currentEntry);
+
+        finishRun();
+    }
+
+    // Ready queue key for the priority algorithms. Aging improves a waiting process's priority
+    // by one level per agingInterval, so at time t its effective key is
+    // priority * agingInterval - (t - readySince). The t term is shared by every waiting
+    // process, so ordering by priority * agingInterval + readySince never needs re-keying.
+    private long priorityKey(int process, long readySince) {
+        if (agingInterval == 0) {
+            return table.getPriority(process);
         }
-    
-        calculateMetrics();
+        return (long) table.getPriority(process) * agingInterval + readySince;
+    }
+
+    // The running process stops aging while the waiting ones keep going, which in key terms
+    // is its key growing by one per time unit since dispatch
+    private long agedRunningKey(long runningKey, long runTime) {
+        return agingInterval == 0 ? runningKey : runningKey + runTime;
     }
-    
 
     public void executePreemptiveSJF() {
-        int currentTime = 0;
-        GanttChartEntry currentEntry = null;
-    
-        while (!allProcessesFinished()) {
-            Process shortestJob = null;
-            for (Process process : processes) {
-                if (process.getArrivalTime() <= currentTime && !process.isFinished()) {
-                    if (shortestJob == null || 
-                        process.getRemainingBurstTime() < shortestJob.getRemainingBurstTime() ||
-                        (process.getRemainingBurstTime() == shortestJob.getRemainingBurstTime() && 
-                         process.getArrivalTime() < shortestJob.getArrivalTime())) { // FCFS tie-breaker
-                        shortestJob = process;
+        loadProcesses("Preemptive SJF");
+        long currentTime = 0;
+        int processCount = table.size();
+        ReadyQueue readyQueue = new ReadyQueue(processCount);
+        int running = -1; // Index of the process on the CPU, kept out of the ready queue
+        int arrivedCount = 0;
+        int unfinishedCount = processCount;
+
+        while (unfinishedCount > 0) {
+            checkCancelled();
+
+            // Move processes that have arrived or returned from I/O by the current time into the ready queue
+            while (arrivedCount < processCount && table.getArrivalTime(arrivedCount) <= currentTime) {
+                readyQueue.add(arrivedCount, table.getRemainingBurstTime(arrivedCount));
+                arrivedCount++;
+            }
+            while (devices != null && devices.getNextCompletionTime() <= currentTime) {
+                int process = devices.completeNext();
+                readyQueue.add(process, table.getRemainingBurstTime(process));
+            }
+            long nextReadyTime = nextReadyTime(arrivedCount);
+
+            // Preempt the running job if a ready one is now shorter (FCFS tie-breaker)
+            if (running < 0 || readyQueue.headPrecedes(running, table.getRemainingBurstTime(running))) {
+                if (running >= 0) {
+                    readyQueue.add(running, table.getRemainingBurstTime(running));
+                }
+                if (readyQueue.isEmpty()) {
+                    running = -1;
+                } else {
+                    recordDecision(readyQueue.size());
+                    running = readyQueue.poll();
+                }
+            }
+
+            if (running >= 0 && running != cpuProcess) {
+                long switchEndTime = dispatch(running, currentTime);
+                if (switchEndTime > currentTime) {
+                    currentTime = switchEndTime;
+                    continue;
+                }
+            }
+            if (running >= 0) {
+                // The running job only gets shorter, so only an arrival or I/O completion can preempt it
+                long timeSlice = Math.min(table.getRemainingBurstTime(running), nextReadyTime - currentTime);
+                emitSlice(running, currentTime, timeSlice);
+                table.reduceRemainingBurstTime(running, timeSlice);
+                currentTime += timeSlice;
+
+                if (table.getRemainingBurstTime(running) == 0) {
+                    if (finishBurst(running, currentTime)) {
+                        unfinishedCount--;
                     }
+                    running = -1;
                 }
+            } else {
+                // Handle idle time up to the next arrival or I/O completion
+                emitSlice(Timeline.IDLE, currentTime, nextReadyTime - currentTime);
+                currentTime = nextReadyTime;
             }
-    
-            if (shortestJob != null) {
-                if (currentEntry == null || !currentEntry.processID.equals(String.valueOf(shortestJob.getProcessID()))) {
-                    // If a new process starts or there's no current entry, create a new Gantt chart entry.
-                    if (currentEntry != null) {
-                        ganttChartQueue.add(currentEntry);
+        }
+
+        finishRun();
+    }
+
+
+    // New processes start on the top level. A process that uses up its level's quantum
+    // moves down one level, the bottom level is Round Robin, and a process on a higher
+    // level preempts one on a lower level. Every boost interval all processes return to
+    // the top level, so long jobs cannot starve.
+    public void executeMultilevelFeedbackQueue() {
+        int[] quanta = feedbackQuanta;
+        if (quanta == null) {
+            if (quantumTime <= 0) {
+                throw new IllegalArgumentException("Time Quantum must be positive.");
+            }
+            quanta = new int[DEFAULT_FEEDBACK_LEVELS];
+            for (int level = 0; level < quanta.length; level++) {
+                quanta[level] = quantumTime << level;
+            }
+        }
+        long boost = boostInterval >= 0 ? boostInterval : (long) DEFAULT_BOOST_QUANTA * quanta[quanta.length - 1];
+
+        loadProcesses("Multilevel Feedback Queue");
+        long currentTime = 0;
+        int processCount = table.size();
+        int levelCount = quanta.length;
+        IndexQueue[] readyQueues = new IndexQueue[levelCount];
+        for (int level = 0; level < levelCount; level++) {
+            readyQueues[level] = new IndexQueue(level == 0 ? processCount : 16);
+        }
+        int[] levels = new int[processCount];
+        long[] usedTimes = new long[processCount]; // Time used of the current level's quantum
+        int running = -1;
+        int arrivedCount = 0;
+        int unfinishedCount = processCount;
+        long nextBoostTime = boost > 0 ? boost : Long.MAX_VALUE;
+        long lastBoostTime = Long.MIN_VALUE;
+
+        while (unfinishedCount > 0) {
+            checkCancelled();
+
+            // Arrivals enter the top level; a process returning from I/O goes back to its own level
+            for (boolean wake; (wake = ioCompletesFirst(arrivedCount, currentTime))
+                    || (arrivedCount < processCount && table.getArrivalTime(arrivedCount) <= currentTime); ) {
+                if (wake) {
+                    wakeFeedback(readyQueues, levels, usedTimes, lastBoostTime);
+                } else {
+                    readyQueues[0].add(arrivedCount++);
+                }
+            }
+
+            if (currentTime >= nextBoostTime) {
+                for (int level = 1; level < levelCount; level++) {
+                    while (!readyQueues[level].isEmpty()) {
+                        int process = readyQueues[level].poll();
+                        levels[process] = 0;
+                        usedTimes[process] = 0;
+                        readyQueues[0].add(process);
                     }
-                    currentEntry = new GanttChartEntry(String.valueOf(shortestJob.getProcessID()), currentTime, 0);
                 }
-    
-                currentEntry.duration++;
-                shortestJob.reduceRemainingBurstTime(1);
-                currentTime++;
-    
-                if (shortestJob.getRemainingBurstTime() == 0) {
-                    shortestJob.setCompletionTime(currentTime);
-                    shortestJob.markAsFinished();
+                if (running >= 0) {
+                    levels[running] = 0;
+                    usedTimes[running] = 0;
                 }
-            } else {
-                // Handle idle time
-                if (currentEntry == null || !currentEntry.processID.equals("IDLE")) {
-                    if (currentEntry != null) {
-                        ganttChartQueue.add(currentEntry);
+                lastBoostTime = currentTime;
+                nextBoostTime += ((currentTime - nextBoostTime) / boost + 1) * boost;
+            }
+
+            int topLevel = 0;
+            while (topLevel < levelCount && readyQueues[topLevel].isEmpty()) {
+                topLevel++;
+            }
+            // A process waiting on a higher level preempts; the preempted one keeps its used quantum
+            if (running >= 0 && topLevel < levels[running]) {
+                readyQueues[levels[running]].add(running);
+                running = -1;
+            }
+            if (running < 0 && topLevel < levelCount) {
+                if (instrumented) {
+                    int readyCount = 0;
+                    for (int level = topLevel; level < levelCount; level++) {
+                        readyCount += readyQueues[level].size();
+                    }
+                    recordDecision(readyCount);
+                }
+                running = readyQueues[topLevel].poll();
+            }
+
+            if (running >= 0 && running != cpuProcess) {
+                long switchEndTime = dispatch(running, currentTime);
+                if (switchEndTime > currentTime) {
+                    currentTime = switchEndTime;
+                    continue;
+                }
+            }
+            long nextReadyTime = nextReadyTime(arrivedCount);
+            if (running >= 0) {
+                int level = levels[running];
+                // Stop at the next arrival, I/O completion or boost as well, since any can change what runs
+                long timeSlice = Math.min(table.getRemainingBurstTime(running), quanta[level] - usedTimes[running]);
+                timeSlice = Math.min(timeSlice, Math.min(nextReadyTime, nextBoostTime) - currentTime);
+                emitSlice(running, currentTime, timeSlice);
+                table.reduceRemainingBurstTime(running, timeSlice);
+                usedTimes[running] += timeSlice;
+                currentTime += timeSlice;
+
+                if (table.getRemainingBurstTime(running) == 0) {
+                    // Blocking for I/O keeps the level and the used quantum, unless the quantum ran out
+                    if (usedTimes[running] == quanta[level]) {
+                        levels[running] = Math.min(level + 1, levelCount - 1);
+                        usedTimes[running] = 0;
+                    }
+                    if (finishBurst(running, currentTime)) {
+                        unfinishedCount--;
                     }
-                    currentEntry = new GanttChartEntry("IDLE", currentTime, 0);
+                    running = -1;
+                } else if (usedTimes[running] == quanta[level]) {
+                    // Processes that became ready meanwhile queue ahead of the demoted one
+                    for (boolean wake; (wake = ioCompletesFirst(arrivedCount, currentTime))
+                            || (arrivedCount < processCount && table.getArrivalTime(arrivedCount) <= currentTime); ) {
+                        if (wake) {
+                            wakeFeedback(readyQueues, levels, usedTimes, lastBoostTime);
+                        } else {
+                            readyQueues[0].add(arrivedCount++);
+                        }
+                    }
+                    levels[running] = Math.min(level + 1, levelCount - 1);
+                    usedTimes[running] = 0;
+                    readyQueues[levels[running]].add(running);
+                    running = -1;
                 }
-    
-                currentEntry.duration++;
-                currentTime++;
+            } else {
+                // Handle idle time by jumping to the next arrival or I/O completion
+                emitSlice(Timeline.IDLE, currentTime, nextReadyTime - currentTime);
+                currentTime = nextReadyTime;
             }
         }
-    
-        // Add the last entry if it exists
-        if (currentEntry != null) {
-            ganttChartQueue.add(currentEntry);
+
+        finishRun();
+    }
+
+    // Queues the process whose I/O completes next at its own level, or at the top if a boost
+    // happened while it was blocked
+    private void wakeFeedback(IndexQueue[] readyQueues, int[] levels, long[] usedTimes, long lastBoostTime) {
+        int process = devices.completeNext();
+        if (devices.getBlockedSince(process) < lastBoostTime) {
+            levels[process] = 0;
+            usedTimes[process] = 0;
         }
-    
-        calculateMetrics();
+        readyQueues[levels[process]].add(process);
     }
-    
 
-    private boolean allProcessesFinished() {
-        for (Process process : processes) {
-            if (!process.isFinished()) {
-                return false;
+    // CFS-style fair sharing. Each process's virtual runtime grows by its CPU time divided by
+    // its weight, where the priority is taken as a nice value (-20 to 19, lower gets more CPU).
+    // The runnable process with the smallest virtual runtime runs next, for a slice of the
+    // period proportional to its weight; the period is the target latency, stretched so no
+    // slice is below the minimum granularity. Arrivals start at the smallest virtual runtime
+    // so they cannot monopolize the CPU, and they wait for the running slice to end.
+    public void executeCompletelyFair() {
+        loadProcesses("Completely Fair Scheduler");
+        long currentTime = 0;
+        int processCount = table.size();
+        // Ordered by virtual runtime, then arrival. Blocked processes leave the heap and are added
+        // back when their I/O completes, so insert and pick-next are O(log n) as in a red-black tree.
+        ReadyQueue readyQueue = new ReadyQueue(processCount);
+        long[] virtualRuntimes = new long[processCount];
+        long[] virtualRemainders = new long[processCount]; // Scaled CPU time not yet divided by the weight
+        long minimumVirtualRuntime = 0; // Never decreases, so arrivals cannot start in the past
+        long totalWeight = 0; // Weight of every runnable process, including the running one
+        int running = -1;
+        long sliceLeft = 0;
+        int arrivedCount = 0;
+        int unfinishedCount = processCount;
+
+        while (unfinishedCount > 0) {
+            checkCancelled();
+
+            while (arrivedCount < processCount && table.getArrivalTime(arrivedCount) <= currentTime) {
+                virtualRuntimes[arrivedCount] = minimumVirtualRuntime;
+                readyQueue.add(arrivedCount, minimumVirtualRuntime);
+                totalWeight += niceWeight(table.getPriority(arrivedCount));
+                arrivedCount++;
+            }
+            // A process returning from I/O keeps its virtual runtime unless it fell behind the minimum
+            while (devices != null && devices.getNextCompletionTime() <= currentTime) {
+                int process = devices.completeNext();
+                virtualRuntimes[process] = Math.max(virtualRuntimes[process], minimumVirtualRuntime);
+                readyQueue.add(process, virtualRuntimes[process]);
+                totalWeight += niceWeight(table.getPriority(process));
+            }
+
+            if (running < 0 && !readyQueue.isEmpty()) {
+                recordDecision(readyQueue.size());
+                running = readyQueue.poll();
+                long period = Math.max(targetLatency, (long) (readyQueue.size() + 1) * minimumGranularity);
+                long slice = period * niceWeight(table.getPriority(running)) / totalWeight;
+                sliceLeft = Math.max(slice, minimumGranularity);
+            }
+
+            if (running >= 0 && running != cpuProcess) {
+                long switchEndTime = dispatch(running, currentTime);
+                if (switchEndTime > currentTime) {
+                    currentTime = switchEndTime;
+                    continue;
+                }
+            }
+            long nextReadyTime = nextReadyTime(arrivedCount);
+            if (running >= 0) {
+                // Stop at the next arrival or I/O completion too, so it is placed at an up-to-date minimum virtual runtime
+                long timeSlice = Math.min(Math.min(table.getRemainingBurstTime(running), sliceLeft), nextReadyTime - currentTime);
+                emitSlice(running, currentTime, timeSlice);
+                table.reduceRemainingBurstTime(running, timeSlice);
+                currentTime += timeSlice;
+                sliceLeft -= timeSlice;
+                int weight = niceWeight(table.getPriority(running));
+                // Carrying the remainder keeps the sum exact; overflow would take over 10^14 time units at nice 19
+                long scaledTime = Math.multiplyExact(timeSlice, 1L << VIRTUAL_RUNTIME_SHIFT) + virtualRemainders[running];
+                virtualRuntimes[running] = Math.addExact(virtualRuntimes[running], scaledTime / weight);
+                virtualRemainders[running] = scaledTime % weight;
+
+                long smallest = readyQueue.isEmpty() ? virtualRuntimes[running] : Math.min(virtualRuntimes[running], readyQueue.peekKey());
+                minimumVirtualRuntime = Math.max(minimumVirtualRuntime, smallest);
+
+                if (table.getRemainingBurstTime(running) == 0) {
+                    if (finishBurst(running, currentTime)) {
+                        unfinishedCount--;
+                    }
+                    totalWeight -= weight;
+                    running = -1;
+                } else if (sliceLeft == 0) {
+                    // Processes that arrived meanwhile are placed before the running one is re-queued
+                    while (arrivedCount < processCount && table.getArrivalTime(arrivedCount) <= currentTime) {
+                        virtualRuntimes[arrivedCount] = minimumVirtualRuntime;
+                        readyQueue.add(arrivedCount, minimumVirtualRuntime);
+                        totalWeight += niceWeight(table.getPriority(arrivedCount));
+                        arrivedCount++;
+                    }
+                    readyQueue.add(running, virtualRuntimes[running]);
+                    running = -1;
+                }
+            } else {
+                // Handle idle time by jumping to the next arrival or I/O completion
+                emitSlice(Timeline.IDLE, currentTime, nextReadyTime - currentTime);
+                currentTime = nextReadyTime;
             }
         }
+
+        finishRun();
+    }
+
+    // Priorities outside the nice range are clamped to it
+    private static int niceWeight(int priority) {
+        int nice = Math.max(-20, Math.min(priority, 19));
+        return NICE_WEIGHTS[nice + 20];
+    }
+
+    // Builds the process table for this run, sorted by arrival time
+    private void loadProcesses(String algorithm) {
+        runEvent = new SchedulerInstrumentation.RunEvent();
+        runEvent.begin();
+        long loadStart = System.nanoTime();
+        this.algorithm = algorithm;
+        instrumented = SchedulerInstrumentation.isEnabled(runEvent);
+        if (processes != null) {
+            processes.sort(Comparator.comparingLong(Process::getArrivalTime));
+            table = ProcessTable.fromProcesses(processes);
+        } else {
+            table.sortByArrival();
+        }
+        if (scheduleSink != null) {
+            timeline = null;
+            sink = scheduleSink;
+        } else {
+            timeline = new Timeline(table);
+            sink = timeline;
+        }
+        pendingDuration = 0;
+        cpuProcess = Timeline.IDLE;
+        finishedCount = 0;
+        totalTurnaroundTime = 0;
+        totalWaitingTime = 0;
+        totalResponseTime = 0;
+        turnaroundTimes.reset();
+        waitingTimes.reset();
+        responseTimes.reset();
+        decisionCount = 0;
+        contextSwitchCount = 0;
+        readyQueueLengthTotal = 0;
+        maximumReadyQueueLength = 0;
+        endTime = 0;
+        totalBurstTime = 0;
+        devices = table.hasIO() ? new IODevices(table) : null;
+        sink.onStart(table);
+        scheduleStartNanos = System.nanoTime();
+        loadNanos = scheduleStartNanos - loadStart;
+    }
+
+    // Called before a process runs. Moving the CPU straight from one process to another is a
+    // context switch; its cost, if any, is charged first and the time after it returned.
+    // An empty burst completes without taking the CPU, so it never causes a switch.
+    private long dispatch(int process, long currentTime) {
+        if (process == cpuProcess || table.getRemainingBurstTime(process) == 0) {
+            return currentTime;
+        }
+        boolean switched = cpuProcess != Timeline.IDLE;
+        cpuProcess = process;
+        if (!switched) {
+            return currentTime;
+        }
+        contextSwitchCount++;
+        emitSlice(Timeline.CONTEXT_SWITCH, currentTime, contextSwitchTime);
+        return currentTime + contextSwitchTime;
+    }
+
+    // Earliest time a process arrives or returns from I/O, or Long.MAX_VALUE if none will
+    private long nextReadyTime(int arrivedCount) {
+        long arrivalTime = arrivedCount < table.size() ? table.getArrivalTime(arrivedCount) : Long.MAX_VALUE;
+        return devices == null ? arrivalTime : Math.min(arrivalTime, devices.getNextCompletionTime());
+    }
+
+    // Whether an I/O completion is due by the given time ahead of the next arrival. The FIFO
+    // algorithms queue processes in the order they become ready, an arrival first on a tie.
+    private boolean ioCompletesFirst(int arrivedCount, long time) {
+        if (devices == null) {
+            return false;
+        }
+        long completionTime = devices.getNextCompletionTime();
+        return completionTime <= time && (arrivedCount == table.size() || completionTime < table.getArrivalTime(arrivedCount));
+    }
+
+    // Called when the process's current CPU burst ends. Returns true if it was the last one and
+    // the process completed; otherwise the process blocks for its next I/O burst.
+    private boolean finishBurst(int process, long currentTime) {
+        if (devices != null && table.hasPendingIO(process)) {
+            devices.block(process, currentTime);
+            return false;
+        }
+        completeProcess(process, currentTime);
         return true;
     }
 
+    // Samples the ready queue length each time a process is picked from it
+    private void recordDecision(int readyQueueLength) {
+        if (!instrumented) {
+            return;
+        }
+        decisionCount++;
+        readyQueueLengthTotal += readyQueueLength;
+        maximumReadyQueueLength = Math.max(maximumReadyQueueLength, readyQueueLength);
+    }
+
+    private void emitSlice(int processIndex, long startTime, long duration) {
+        if (duration == 0) {
+            return;
+        }
+        if (processIndex >= 0) {
+            table.recordFirstRun(processIndex, startTime);
+        } else if (processIndex == Timeline.IDLE) {
+            cpuProcess = Timeline.IDLE;
+        }
+        // Back-to-back switches stay separate entries, one per switch
+        if (pendingDuration > 0 && pendingProcess == processIndex && processIndex != Timeline.CONTEXT_SWITCH
+                && pendingStart + pendingDuration == startTime) {
+            pendingDuration += duration;
+            return;
+        }
+        flushSlice();
+        pendingProcess = processIndex;
+        pendingStart = startTime;
+        pendingDuration = duration;
+    }
+
+    private void flushSlice() {
+        if (pendingDuration > 0) {
+            sink.onSlice(pendingProcess, pendingStart, pendingDuration);
+            pendingDuration = 0;
+        }
+    }
+
+    private void completeProcess(int process, long completionTime) {
+        table.setCompletionTime(process, completionTime);
+        table.recordFirstRun(process, completionTime); // A zero-length burst responds when it completes
+        long arrivalTime = table.getArrivalTime(process);
+        long turnaroundTime = completionTime - arrivalTime;
+        long waitingTime = turnaroundTime - table.getBurstTime(process) - table.getBlockedTime(process);
+        long responseTime = table.getFirstRunTime(process) - arrivalTime;
+        totalTurnaroundTime += turnaroundTime;
+        totalWaitingTime += waitingTime;
+        totalResponseTime += responseTime;
+        turnaroundTimes.record(turnaroundTime);
+        waitingTimes.record(waitingTime);
+        responseTimes.record(responseTime);
+        totalBurstTime += table.getBurstTime(process);
+        endTime = completionTime;
+        // A finished process never runs again, so its last slice can go out first
+        flushSlice();
+        sink.onCompletion(process, completionTime);
+        finishedCount++;
+        if (progressListener != null) {
+            progressListener.onProgress(finishedCount, table.size());
+        }
+    }
+
+    private void checkCancelled() {
+        if (cancelled || Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Scheduling was cancelled.");
+        }
+    }
+
+    private void finishRun() {
+        long metricsStart = System.nanoTime();
+        flushSlice();
+        calculateMetrics();
+        sink.onFinish();
+        // Every burst runs in full, so the CPU was idle whenever it was not running a burst or switching
+        long idleTime = endTime - totalBurstTime - contextSwitchCount * contextSwitchTime;
+        runStatistics = new RunStatistics(algorithm, table.size(), decisionCount, contextSwitchCount, readyQueueLengthTotal,
+            maximumReadyQueueLength, idleTime, loadNanos, metricsStart - scheduleStartNanos, System.nanoTime() - metricsStart);
+        SchedulerInstrumentation.record(runEvent, runStatistics);
+        runEvent = null;
+    }
+
+    // Totals are summed as processes complete; this derives the averages
     private void calculateMetrics() {
-        for (Process process : processes) {
-            process.calculateTurnaroundTime();
-            process.calculateWaitingTime();
-            totalTurnaroundTime += process.getTurnaroundTime();
-            totalWaitingTime += process.getWaitingTime();
+        int processCount = table.size();
+
+        // Copy the results back onto the caller's Process objects
+        if (processes != null) {
+            for (int i = 0; i < processCount; i++) {
+                Process process = processes.get(i);
+                process.reduceRemainingBurstTime(process.getRemainingBurstTime() - table.getRemainingBurstTime(i));
+                process.setCompletionTime(table.getCompletionTime(i));
+                process.markAsFinished();
+                process.calculateTurnaroundTime();
+                process.setBlockedTime(table.getBlockedTime(i));
+                process.calculateWaitingTime();
+                process.calculateResponseTime(table.getFirstRunTime(i));
+            }
         }
 
-        averageTurnaroundTime = (double) totalTurnaroundTime / processes.size();
-        averageWaitingTime = (double) totalWaitingTime / processes.size();
+        averageTurnaroundTime = (double) totalTurnaroundTime / processCount;
+        averageWaitingTime = (double) totalWaitingTime / processCount;
+        averageResponseTime = (double) totalResponseTime / processCount;
+    }
+
+    public ProcessTable getProcessTable() {
+        return table;
+    }
+
+    // Null when the schedule was streamed into a sink
+    public Timeline getTimeline() {
+        return timeline;
     }
 
+    // Materializes the timeline as entry objects for callers that want a queue
     public Queue<GanttChartEntry> getGanttChartData() {
+        Queue<GanttChartEntry> ganttChartQueue = new ArrayDeque<>(timeline.size());
+        for (GanttChartEntry entry : timeline) {
+            ganttChartQueue.add(entry);
+        }
         return ganttChartQueue;
     }
 
-    public int getTotalTurnaroundTime() {
+    public long getTotalTurnaroundTime() {
         return totalTurnaroundTime;
     }
 
@@ -282,7 +946,7 @@ public class Controller {
         return averageTurnaroundTime;
     }
 
-    public int getTotalWaitingTime() {
+    public long getTotalWaitingTime() {
         return totalWaitingTime;
     }
 
@@ -290,15 +954,152 @@ public class Controller {
         return averageWaitingTime;
     }
 
+    public long getTotalResponseTime() {
+        return totalResponseTime;
+    }
+
+    public double getAverageResponseTime() {
+        return averageResponseTime;
+    }
+
+    // Distributions of the per-process times for percentiles; merge them with add() to
+    // summarize several runs
+    public LatencyHistogram getTurnaroundTimeHistogram() {
+        return turnaroundTimes;
+    }
+
+    public LatencyHistogram getWaitingTimeHistogram() {
+        return waitingTimes;
+    }
+
+    public LatencyHistogram getResponseTimeHistogram() {
+        return responseTimes;
+    }
+
+    // The devices of the last run with their usage counters, or null if it had no I/O bursts
+    public IODevices getIODevices() {
+        return devices;
+    }
+
+    // Fraction of the last run, from the first arrival to the last completion, that the CPU
+    // spent running processes; context switches do not count
+    public double getCpuUtilization() {
+        long span = getRunSpan();
+        return span == 0 ? 0.0 : (double) totalBurstTime / span;
+    }
+
+    // Fraction of the last run that the device was serving a request
+    public double getDeviceUtilization(int device) {
+        long span = getRunSpan();
+        return span == 0 || devices == null ? 0.0 : (double) devices.getBusyTime(device) / span;
+    }
+
+    // Processes completed per time unit over the last run
+    public double getThroughput() {
+        long span = getRunSpan();
+        return span == 0 ? 0.0 : (double) table.size() / span;
+    }
+
+    private long getRunSpan() {
+        return table.size() == 0 ? 0 : endTime - table.getArrivalTime(0);
+    }
+
+    public int getContextSwitchTime() {
+        return contextSwitchTime;
+    }
+
+    // Times the CPU went straight from one process to another in the last run
+    public long getContextSwitchCount() {
+        return contextSwitchCount;
+    }
+
+    // Engine counters and phase wall times of the last finished run, or null before the first.
+    // The decision count is 0 unless SchedulerInstrumentation was enabled.
+    public RunStatistics getRunStatistics() {
+        return runStatistics;
+    }
+
+    // Waiting time statistics for each priority value, from highest priority to lowest.
+    // The worst case per class is what shows whether aging bounds starvation.
+    public List<PriorityClassWaits> getWaitingTimeByPriority() {
+        SortedMap<Integer, PriorityClassWaits> classes = new TreeMap<>();
+        for (int i = 0; i < table.size(); i++) {
+            PriorityClassWaits waits = classes.computeIfAbsent(table.getPriority(i), PriorityClassWaits::new);
+            long waitingTime = table.getWaitingTime(i);
+            waits.processCount++;
+            waits.totalWaitingTime += waitingTime;
+            waits.maximumWaitingTime = Math.max(waits.maximumWaitingTime, waitingTime);
+        }
+        return new ArrayList<>(classes.values());
+    }
+
+    public static class PriorityClassWaits {
+        public final int priority;
+        public int processCount;
+        public long totalWaitingTime;
+        public long maximumWaitingTime;
+
+        public PriorityClassWaits(int priority) {
+            this.priority = priority;
+        }
+
+        public double getAverageWaitingTime() {
+            return (double) totalWaitingTime / processCount;
+        }
+    }
+
+    public static class RunStatistics {
+        public final String algorithm;
+        public final int processCount;
+        public final long decisionCount; // Times a process was picked from the ready queue
+        public final long contextSwitchCount; // Times the CPU went straight from one process to another
+        public final long readyQueueLengthTotal; // Ready queue length summed over every decision
+        public final int maximumReadyQueueLength;
+        public final long idleTime;
+        public final long loadNanos; // Wall time spent building and sorting the process table
+        public final long scheduleNanos; // Wall time spent running the algorithm
+        public final long metricsNanos; // Wall time spent deriving the metrics and finishing the sink
+
+        public RunStatistics(String algorithm, int processCount, long decisionCount, long contextSwitchCount, long readyQueueLengthTotal,
+                             int maximumReadyQueueLength, long idleTime, long loadNanos, long scheduleNanos, long metricsNanos) {
+            this.algorithm = algorithm;
+            this.processCount = processCount;
+            this.decisionCount = decisionCount;
+            this.contextSwitchCount = contextSwitchCount;
+            this.readyQueueLengthTotal = readyQueueLengthTotal;
+            this.maximumReadyQueueLength = maximumReadyQueueLength;
+            this.idleTime = idleTime;
+            this.loadNanos = loadNanos;
+            this.scheduleNanos = scheduleNanos;
+            this.metricsNanos = metricsNanos;
+        }
+
+        public double getAverageReadyQueueLength() {
+            return decisionCount == 0 ? 0.0 : (double) readyQueueLengthTotal / decisionCount;
+        }
+    }
+
+    // Idle CPU time and context switch overhead are entries too, with reserved process IDs
     public static class GanttChartEntry {
+        public static final String IDLE_ID = "IDLE";
+        public static final String CONTEXT_SWITCH_ID = "CS";
+
         public String processID;
-        public int startTime;
-        public int duration;
+        public long startTime;
+        public long duration;
 
-        public GanttChartEntry(String processID, int startTime, int duration) {
+        public GanttChartEntry(String processID, long startTime, long duration) {
             this.processID = processID;
             this.startTime = startTime;
             this.duration = duration;
         }
+
+        public boolean isIdle() {
+            return processID.equals(IDLE_ID);
+        }
+
+        public boolean isContextSwitch() {
+            return processID.equals(CONTEXT_SWITCH_ID);
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,82 +1,314 @@
 import java.awt.*;
-import java.awt.font.FontRenderContext;
-import java.awt.geom.AffineTransform;
-import java.util.Queue;
+import java.awt.event.InputEvent;
+import java.awt.event.MouseWheelEvent;
+import java.util.HashMap;
+import java.util.Map;
 import javax.swing.*;
 
-public class GanttChart {
-    public void ganttChart(JPanel panel, Controller controller) {
-        Queue<Controller.GanttChartEntry> ganttChartQueue = controller.getGanttChartData();
-        panel.removeAll(); // Clear previous Gantt chart
-        panel.setLayout(new FlowLayout(FlowLayout.LEFT, 0,3)); // Increase horizontal gap to 20 pixels
-
-        int currentTime = 0; // Track the current time for calculating end time
-        int totalEntries = ganttChartQueue.size(); // Get total number of entries
-        int entryIndex = 0; // Initialize entry index
-
-        while (!ganttChartQueue.isEmpty()) {
-            Controller.GanttChartEntry entry = ganttChartQueue.poll();
-            String processName = entry.processID.equals("IDLE") ? "Idle" : entry.processID;
-
-            // Create a bar for the process
-            JPanel barPanel = new JPanel();
-            barPanel.setLayout(new BorderLayout());
-            barPanel.setBorder(BorderFactory.createLineBorder(Color.BLACK));
-            barPanel.setBackground(Color.WHITE);
-    
-            // Add process name label inside the bar
-            JLabel processLabel = new JLabel(processName, SwingConstants.CENTER);
-            processLabel.setFont(new Font("Arial", Font.BOLD, 12));
-            barPanel.add(processLabel, BorderLayout.CENTER);
-    
-            // Calculate the width based on the process name length
-            Font font = processLabel.getFont();
-            FontRenderContext frc = new FontRenderContext(new AffineTransform(), true, true);
-            int textWidth = (int) font.getStringBounds(processName, frc).getWidth();
-            int padding = 20; // Add some padding to avoid cutting off text
-            int barWidth = Math.max(textWidth + padding, entry.duration * 40); // Use the larger of the two values
-    
-            // Set the preferred size of the bar panel
-            barPanel.setPreferredSize(new Dimension(barWidth, 50));
-    
-            // Create a container for the bar and time label
-            JPanel containerPanel = new JPanel();
-            containerPanel.setLayout(new BorderLayout());
-    
-            // Add the bar to the container
-            containerPanel.add(barPanel, BorderLayout.CENTER);
-
-            // Add padding below the bar
-            JPanel paddingPanel = new JPanel();
-            paddingPanel.setPreferredSize(new Dimension(entry.duration * 40, 30)); // Increase padding height to 30 pixels
-            paddingPanel.setLayout(new BorderLayout()); // Use BorderLayout to center the time label
-            containerPanel.add(paddingPanel, BorderLayout.SOUTH);
-
-            // Add start time label at the bottom of the padding
-            JLabel timeLabel = new JLabel(String.valueOf(entry.startTime), SwingConstants.CENTER);
-            timeLabel.setFont(new Font("Arial", Font.PLAIN, 12));
-            paddingPanel.add(timeLabel, BorderLayout.WEST); // Place time label at the bottom of the padding
-            
-            // Update current time for the end time calculation
-            currentTime += entry.duration; // Increment current time by the duration of the current entry
-
-            // Check if this is the last entry
-            if (entryIndex == totalEntries - 1) {
-                // Add end time label at the bottom of the padding
-                JLabel endTimeLabel = new JLabel(String.valueOf(currentTime), SwingConstants.CENTER);
-                endTimeLabel.setFont(new Font("Arial", Font.PLAIN, 12));
-                paddingPanel.add(endTimeLabel, BorderLayout.EAST); // Place end time label at the bottom of the padding
+// Paints a Timeline as a Gantt chart. Only the part inside the visible clip is drawn,
+// and entries narrower than a pixel are skipped with a binary search, so painting
+// costs about the same for any schedule length. Ctrl + mouse wheel zooms around the cursor.
+// Once entries get only a few pixels wide on average, the chart is drawn from a
+// TimelineSummary instead: one bucket per pixel, coloured by the process that ran
+// longest in it and filled up to the share of the bucket the CPU was busy, with
+// context switch overhead shaded on top.
+@SuppressWarnings("serial") // Swing components are not serialized
+public class GanttChart extends JComponent implements Scrollable {
+    private static final double DEFAULT_PIXELS_PER_UNIT = 40; // Same scale as the old per-entry panels
+    private static final double MAX_PIXELS_PER_UNIT = 400;
+    private static final double MAX_CHART_WIDTH = 1 << 30; // Keeps coordinates well inside int range
+    private static final int MARGIN = 5;
+    private static final int BAR_TOP = 8;
+    private static final int BAR_HEIGHT = 50;
+    private static final int LABEL_PADDING = 6; // Space needed around text drawn inside a bar
+    private static final int TIME_LABEL_GAP = 4; // Minimum gap between two time labels
+    private static final int MIN_DIVIDED_RUN_WIDTH = 8; // Narrowest summary run drawn with its own borders
+
+    private final Font barFont = new Font("Arial", Font.BOLD, 12);
+    private final Font timeFont = new Font("Arial", Font.PLAIN, 12);
+    private final FontMetrics barMetrics = getFontMetrics(barFont);
+    private final FontMetrics timeMetrics = getFontMetrics(timeFont);
+    private final Map<String, Integer> textWidths = new HashMap<>(); // Cached widths of process names
+
+    private Timeline timeline;
+    private TimelineSummary summary;
+    private double pixelsPerUnit = DEFAULT_PIXELS_PER_UNIT;
+
+    public GanttChart() {
+        setOpaque(true);
+        setBackground(UIManager.getColor("Panel.background"));
+        addMouseWheelListener(this::onMouseWheel);
+    }
+
+    // Shows a new schedule, or clears the chart when timeline is null
+    public void setTimeline(Timeline timeline) {
+        this.timeline = timeline;
+        summary = timeline == null || timeline.isEmpty() ? null : new TimelineSummary(timeline);
+        textWidths.clear();
+        pixelsPerUnit = Math.max(minPixelsPerUnit(), Math.min(DEFAULT_PIXELS_PER_UNIT, maxPixelsPerUnit()));
+        revalidate();
+        repaint();
+    }
+
+    public double getPixelsPerUnit() {
+        return pixelsPerUnit;
+    }
+
+    // Zooms by the given factor, keeping the time at the given x position in place
+    public void zoom(double factor, int anchorX) {
+        if (timeline == null || timeline.isEmpty()) {
+            return;
+        }
+        double anchorTime = timeAt(anchorX);
+        double zoomed = Math.max(minPixelsPerUnit(), Math.min(pixelsPerUnit * factor, maxPixelsPerUnit()));
+        if (zoomed == pixelsPerUnit) {
+            return;
+        }
+        pixelsPerUnit = zoomed;
+        revalidate();
+
+        JViewport viewport = (JViewport) SwingUtilities.getAncestorOfClass(JViewport.class, this);
+        if (viewport != null) {
+            Point position = viewport.getViewPosition();
+            int shift = (int) Math.round(xAt(anchorTime)) - anchorX;
+            // Apply the new size first so the viewport accepts the new position
+            Dimension size = getPreferredSize();
+            viewport.setViewSize(size);
+            int maxX = Math.max(0, size.width - viewport.getExtentSize().width);
+            viewport.setViewPosition(new Point(Math.max(0, Math.min(position.x + shift, maxX)), position.y));
+        }
+        repaint();
+    }
+
+    private void onMouseWheel(MouseWheelEvent event) {
+        if ((event.getModifiersEx() & InputEvent.CTRL_DOWN_MASK) != 0) {
+            zoom(Math.pow(1.25, -event.getPreciseWheelRotation()), event.getX());
+        } else if (getParent() != null) {
+            // Let the enclosing scroll pane handle plain scrolling
+            getParent().dispatchEvent(SwingUtilities.convertMouseEvent(this, event, getParent()));
+        }
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        if (timeline == null || timeline.isEmpty()) {
+            return new Dimension(0, 0);
+        }
+        int width = (int) Math.ceil(xAt(timeline.getEndTime())) + MARGIN + timeMetrics.stringWidth(String.valueOf(timeline.getEndTime()));
+        return new Dimension(width, BAR_TOP + BAR_HEIGHT + timeMetrics.getHeight() + 2 * MARGIN);
+    }
+
+    @Override
+    protected void paintComponent(Graphics graphics) {
+        Rectangle clip = graphics.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+        graphics.setColor(getBackground());
+        graphics.fillRect(clip.x, clip.y, clip.width, clip.height);
+        if (timeline == null || timeline.isEmpty()) {
+            return;
+        }
+
+        Graphics2D g = (Graphics2D) graphics.create();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            // Level 0 buckets span about two entries, so below this width outlined entries would blur together
+            if (summary.getBucketWidth(0) * pixelsPerUnit < MIN_DIVIDED_RUN_WIDTH) {
+                paintSummary(g, clip);
+            } else {
+                paintEntries(g, clip);
             }
+        } finally {
+            g.dispose();
+        }
+    }
 
-            // Increment entry index
-            entryIndex++;
+    private void paintEntries(Graphics2D g, Rectangle clip) {
+        int barBottom = BAR_TOP + BAR_HEIGHT;
+        int timeBaseline = barBottom + timeMetrics.getAscent() + 2;
+        int clipEnd = clip.x + clip.width;
+        int lastLabelEnd = Integer.MIN_VALUE;
 
-            // Add the container to the Gantt chart panel
-            panel.add(containerPanel);
+        // Start one entry early so a time label straddling the clip edge is still drawn
+        int entry = Math.max(0, timeline.findEntry((long) Math.floor(timeAt(clip.x))) - 1);
+        while (entry < timeline.size()) {
+            long start = timeline.getStartTime(entry);
+            long end = start + timeline.getDuration(entry);
+            int x = (int) Math.round(xAt(start));
+            int xEnd = (int) Math.round(xAt(end));
+            if (x > clipEnd) {
+                break;
+            }
 
+            if (xEnd > x) {
+                int process = timeline.getProcessIndex(entry);
+                // Context switch overhead is shaded so it stands apart from the processes
+                g.setColor(process == Timeline.CONTEXT_SWITCH ? Color.LIGHT_GRAY : Color.WHITE);
+                g.fillRect(x, BAR_TOP, xEnd - x, BAR_HEIGHT);
+                g.setColor(Color.BLACK);
+                g.drawRect(x, BAR_TOP, xEnd - x, BAR_HEIGHT);
+
+                // Only label bars wide enough to hold their name
+                String name = process == Timeline.IDLE ? "Idle" : timeline.getProcessID(entry);
+                int nameWidth = textWidths.computeIfAbsent(name, barMetrics::stringWidth);
+                if (nameWidth + LABEL_PADDING <= xEnd - x) {
+                    g.setFont(barFont);
+                    g.drawString(name, x + (xEnd - x - nameWidth) / 2,
+                        BAR_TOP + (BAR_HEIGHT + barMetrics.getAscent() - barMetrics.getDescent()) / 2);
+                }
+            }
+
+            // Start time under the bar, skipped when it would overlap the previous label
+            g.setFont(timeFont);
+            String startLabel = String.valueOf(start);
+            if (x >= lastLabelEnd + TIME_LABEL_GAP) {
+                g.drawString(startLabel, x, timeBaseline);
+                lastLabelEnd = x + timeMetrics.stringWidth(startLabel);
+            }
+
+            if (entry == timeline.size() - 1) {
+                String endLabel = String.valueOf(end);
+                if (xEnd >= lastLabelEnd + TIME_LABEL_GAP) {
+                    g.drawString(endLabel, xEnd, timeBaseline);
+                }
+                break;
+            }
+
+            // Entries that end inside this pixel are invisible; jump to the one at the next pixel
+            if (xEnd <= x) {
+                int next = timeline.findEntry((long) Math.floor(timeAt(x + 1)));
+                entry = Math.max(entry + 1, next);
+            } else {
+                entry++;
+            }
         }
+    }
+
+    private void paintSummary(Graphics2D g, Rectangle clip) {
+        int barBottom = BAR_TOP + BAR_HEIGHT;
+        int timeBaseline = barBottom + timeMetrics.getAscent() + 2;
+        int level = summary.getLevelFor(1 / pixelsPerUnit);
+        int first = summary.findBucket(level, timeAt(clip.x));
+        int last = summary.findBucket(level, timeAt(clip.x + clip.width));
+        int chartStart = (int) Math.round(xAt(summary.getBucketStart(level, first)));
+        int chartEnd = (int) Math.round(xAt(summary.getBucketEnd(level, last)));
+
+        g.setColor(Color.WHITE);
+        g.fillRect(chartStart, BAR_TOP, chartEnd - chartStart, BAR_HEIGHT);
+
+        // Consecutive buckets with the same dominant process form one labelled run
+        int runProcess = summary.getDominantProcess(level, first);
+        int runStart = chartStart;
+        int lastLabelEnd = Integer.MIN_VALUE;
+        for (int bucket = first; bucket <= last + 1; bucket++) {
+            int process = bucket <= last ? summary.getDominantProcess(level, bucket) : Integer.MIN_VALUE;
+            int x = bucket <= last ? (int) Math.round(xAt(summary.getBucketStart(level, bucket))) : chartEnd;
+            if (process != runProcess) {
+                // Dividers on every narrow run would hide the colours, so only wide runs get one
+                g.setColor(Color.BLACK);
+                if (x - runStart >= MIN_DIVIDED_RUN_WIDTH) {
+                    g.drawLine(runStart, BAR_TOP, runStart, barBottom);
+                    g.drawLine(x, BAR_TOP, x, barBottom);
+                }
+                String name = runProcess == Timeline.IDLE ? "Idle" : Timeline.getProcessID(timeline.getProcessTable(), runProcess);
+                int nameWidth = textWidths.computeIfAbsent(name, barMetrics::stringWidth);
+                if (nameWidth + LABEL_PADDING <= x - runStart) {
+                    g.setFont(barFont);
+                    g.drawString(name, runStart + (x - runStart - nameWidth) / 2,
+                        BAR_TOP + (BAR_HEIGHT + barMetrics.getAscent() - barMetrics.getDescent()) / 2);
+                }
+                if (runStart >= lastLabelEnd + TIME_LABEL_GAP) {
+                    String startLabel = String.valueOf(Math.round(timeAt(runStart)));
+                    g.setFont(timeFont);
+                    g.drawString(startLabel, runStart, timeBaseline);
+                    lastLabelEnd = runStart + timeMetrics.stringWidth(startLabel);
+                }
+                runProcess = process;
+                runStart = x;
+            }
+            if (bucket > last) {
+                break;
+            }
+
+            int xEnd = (int) Math.round(xAt(summary.getBucketEnd(level, bucket)));
+            int busyHeight = (int) Math.round(BAR_HEIGHT * summary.getBusyRatio(level, bucket));
+            if (process >= 0 && busyHeight > 0) {
+                g.setColor(colorFor(process));
+                g.fillRect(x, barBottom - busyHeight, Math.max(xEnd - x, 1), busyHeight);
+            }
+            // Switch overhead is stacked on the busy time, shaded like context switch entries
+            int switchHeight = (int) Math.round(BAR_HEIGHT * summary.getContextSwitchRatio(level, bucket));
+            if (switchHeight > 0) {
+                g.setColor(Color.LIGHT_GRAY);
+                g.fillRect(x, barBottom - busyHeight - switchHeight, Math.max(xEnd - x, 1), Math.min(switchHeight, BAR_HEIGHT - busyHeight));
+            }
+        }
+
+        g.setColor(Color.BLACK);
+        g.drawRect(chartStart, BAR_TOP, chartEnd - chartStart, BAR_HEIGHT);
+        if (last == summary.getBucketCount(level) - 1) {
+            String endLabel = String.valueOf(timeline.getEndTime());
+            if (chartEnd >= lastLabelEnd + TIME_LABEL_GAP) {
+                g.setFont(timeFont);
+                g.drawString(endLabel, chartEnd, timeBaseline);
+            }
+        }
+    }
+
+    // Spreads process indices around the colour wheel so neighbouring processes differ
+    private static Color colorFor(int processIndex) {
+        return Color.getHSBColor((processIndex * 0.618034f) % 1, 0.45f, 0.9f);
+    }
+
+    private double xAt(double time) {
+        return MARGIN + (time - timeline.getStartTime(0)) * pixelsPerUnit;
+    }
+
+    private double timeAt(int x) {
+        return timeline.getStartTime(0) + (x - MARGIN) / pixelsPerUnit;
+    }
+
+    // Zooming out stops once the whole schedule fits in the visible width
+    private double minPixelsPerUnit() {
+        if (timeline == null || timeline.isEmpty()) {
+            return DEFAULT_PIXELS_PER_UNIT;
+        }
+        int visibleWidth = Math.max(getVisibleRect().width, 200);
+        double span = Math.max(timeline.getEndTime() - timeline.getStartTime(0), 1);
+        return Math.min((visibleWidth - 2 * MARGIN) / span, maxPixelsPerUnit());
+    }
+
+    private double maxPixelsPerUnit() {
+        if (timeline == null || timeline.isEmpty()) {
+            return MAX_PIXELS_PER_UNIT;
+        }
+        double span = Math.max(timeline.getEndTime() - timeline.getStartTime(0), 1);
+        return Math.min(MAX_PIXELS_PER_UNIT, MAX_CHART_WIDTH / span);
+    }
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        return getPreferredSize();
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.HORIZONTAL ? 40 : 10;
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.HORIZONTAL ? visibleRect.width : visibleRect.height;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return false;
+    }
 
-        panel.revalidate(); // Refresh the panel
-        panel.repaint(); // Repaint the panel
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        return false;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,99 @@
+import java.util.Arrays;
+
+// Simulated I/O devices for a Controller run on a table with I/O bursts (see BurstSequence).
+// Each device serves one request at a time in FCFS order, and a process that blocks on a
+// busy device waits in that device's queue. Requests complete in time order, ties going to
+// the lower device number.
+public class IODevices {
+    private final ProcessTable table;
+    private final IndexQueue[] waitQueues;
+    private final int[] serving; // Process each device is serving, or -1
+    private final ReadyQueue completions; // Busy devices, keyed by the time their request completes
+    private final long[] blockedSince; // When each process last blocked
+    private final long[] busyTimes;
+    private final long[] requestCounts;
+    private final long[] queueTimes; // Time requests waited for their device to become free
+
+    public IODevices(ProcessTable table) {
+        this.table = table;
+        int deviceCount = table.getDeviceCount();
+        waitQueues = new IndexQueue[deviceCount];
+        for (int device = 0; device < deviceCount; device++) {
+            waitQueues[device] = new IndexQueue(16);
+        }
+        serving = new int[deviceCount];
+        Arrays.fill(serving, -1);
+        completions = new ReadyQueue(Math.max(deviceCount, 1));
+        blockedSince = new long[table.size()];
+        busyTimes = new long[deviceCount];
+        requestCounts = new long[deviceCount];
+        queueTimes = new long[deviceCount];
+    }
+
+    // Sends the process to the device of its pending I/O burst
+    public void block(int process, long time) {
+        int device = table.getPendingIODevice(process);
+        blockedSince[process] = time;
+        requestCounts[device]++;
+        if (serving[device] < 0) {
+            start(device, process, time);
+        } else {
+            waitQueues[device].add(process);
+        }
+    }
+
+    // The scheduler may only collect a completion after the device's next request was made,
+    // so a request never starts before it was made
+    private void start(int device, int process, long time) {
+        long startTime = Math.max(time, blockedSince[process]);
+        long ioTime = table.getPendingIOTime(process);
+        serving[device] = process;
+        busyTimes[device] += ioTime;
+        queueTimes[device] += startTime - blockedSince[process];
+        completions.add(device, startTime + ioTime);
+    }
+
+    // Time the next request completes, or Long.MAX_VALUE while every device is free
+    public long getNextCompletionTime() {
+        return completions.isEmpty() ? Long.MAX_VALUE : completions.peekKey();
+    }
+
+    // Completes the next request and returns its process, which is ready for its next CPU
+    // burst. The device starts on the next request in its queue at once.
+    public int completeNext() {
+        long time = completions.peekKey();
+        int device = completions.poll();
+        int process = serving[device];
+        serving[device] = -1;
+        table.finishIOBurst(process, time - blockedSince[process]);
+        if (!waitQueues[device].isEmpty()) {
+            start(device, waitQueues[device].poll(), time);
+        }
+        return process;
+    }
+
+    // When the process last blocked for I/O
+    public long getBlockedSince(int process) {
+        return blockedSince[process];
+    }
+
+    public int getDeviceCount() {
+        return serving.length;
+    }
+
+    public long getBusyTime(int device) {
+        return busyTimes[device];
+    }
+
+    public long getRequestCount(int device) {
+        return requestCounts[device];
+    }
+
+    public long getQueueTime(int device) {
+        return queueTimes[device];
+    }
+
+    public double getAverageQueueTime(int device) {
+        return requestCounts[device] == 0 ? 0.0 : (double) queueTimes[device] / requestCounts[device];
+    }
+}
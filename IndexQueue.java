@@ -0,0 +1,54 @@
+import java.util.Arrays;
+
+// FIFO ring buffer of process indices, used where Round Robin style
+// scheduling needs a plain queue without boxing every index.
+public class IndexQueue {
+    private int[] elements;
+    private int head = 0;
+    private int size = 0;
+
+    public IndexQueue(int initialCapacity) {
+        elements = new int[Math.max(Integer.highestOneBit(Math.max(initialCapacity, 1) - 1) << 1, 2)];
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void add(int index) {
+        if (size == elements.length) {
+            grow();
+        }
+        elements[(head + size) & (elements.length - 1)] = index;
+        size++;
+    }
+
+    public int peek() {
+        return elements[head];
+    }
+
+    public int poll() {
+        int index = elements[head];
+        head = (head + 1) & (elements.length - 1);
+        size--;
+        return index;
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    private void grow() {
+        int[] grown = Arrays.copyOf(elements, elements.length * 2);
+        // Move the wrapped-around prefix behind the old tail
+        if (head > 0) {
+            System.arraycopy(elements, 0, grown, elements.length, head);
+        }
+        elements = grown;
+    }
+}
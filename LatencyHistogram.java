@@ -0,0 +1,105 @@
+import java.util.Arrays;
+
+// Log-bucketed histogram of non-negative times, in the style of HdrHistogram.
+// Values below 2 * SUB_BUCKET_COUNT are counted exactly. Larger values share a bucket
+// with others that have the same top SUB_BUCKET_BITS + 1 bits, so a reported value is
+// within 1 / SUB_BUCKET_COUNT (under 1%) of the true one. Memory depends only on the
+// largest value recorded, never on how many values are recorded, and two histograms
+// merge by adding their counts.
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    private long[] counts = new long[2 * SUB_BUCKET_COUNT];
+    private long totalCount = 0;
+    private long sum = 0;
+    private long maximum = 0;
+
+    public void record(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative value: " + value);
+        }
+        int index = bucketIndex(value);
+        if (index >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(index + 1, counts.length * 2));
+        }
+        counts[index]++;
+        totalCount++;
+        sum += value;
+        maximum = Math.max(maximum, value);
+    }
+
+    // Adds every value recorded in the other histogram to this one
+    public void add(LatencyHistogram other) {
+        if (other.counts.length > counts.length) {
+            counts = Arrays.copyOf(counts, other.counts.length);
+        }
+        for (int i = 0; i < other.counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        sum += other.sum;
+        maximum = Math.max(maximum, other.maximum);
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        sum = 0;
+        maximum = 0;
+    }
+
+    public long getCount() {
+        return totalCount;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    public long getMax() {
+        return maximum;
+    }
+
+    public double getMean() {
+        return totalCount == 0 ? 0.0 : (double) sum / totalCount;
+    }
+
+    // Smallest recorded value that at least the given percentage (0 to 100) of values do
+    // not exceed, reported as the top of its bucket but never above the maximum
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100.");
+        }
+        if (totalCount == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestValueInBucket(i), maximum);
+            }
+        }
+        return maximum;
+    }
+
+    private static int bucketIndex(long value) {
+        int topBit = 63 - Long.numberOfLeadingZeros(value | 1);
+        if (topBit < SUB_BUCKET_BITS) {
+            return (int) value;
+        }
+        int shift = topBit - SUB_BUCKET_BITS;
+        return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+    }
+
+    private static long highestValueInBucket(int index) {
+        if (index < 2 * SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        long mantissa = index - ((long) shift << SUB_BUCKET_BITS);
+        return ((mantissa + 1) << shift) - 1;
+    }
+}
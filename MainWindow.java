@@ -1,8 +1,14 @@
 import java.awt.*;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.StringJoiner;
+import java.util.Vector;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import javax.swing.table.JTableHeader;
@@ -10,11 +16,15 @@ import javax.swing.table.JTableHeader;
 
 public class MainWindow extends JFrame {
     private JTable processTable;
-    private JButton addButton, deleteButton, resetButton, calculateButton, clearAllButton;
-    private JTextField timeQuantumInput;
+    private JButton addButton, deleteButton, resetButton, calculateButton, compareButton, clearAllButton;
+    private JTextField timeQuantumInput, contextSwitchInput;
     private JComboBox<String> algorithmComboBox;
     private JTextField totalTurnaroundTimeOutput, averageTurnaroundTimeOutput, totalWaitingTimeOutput, averageWaitingTimeOutput;
-    private final JPanel ganttChartPanel;
+    private JTextField totalResponseTimeOutput, averageResponseTimeOutput, waitingTimeP99Output, responseTimeP99Output;
+    private JTextField contextSwitchCountOutput, contextSwitchOverheadOutput, cpuUtilizationOutput, deviceUtilizationOutput;
+    private final GanttChart ganttChart = new GanttChart();
+    private final JProgressBar progressBar = new JProgressBar(0, 100);
+    private SwingWorker<?, ?> runningWorker; // Scheduling run in the background, or null when idle
 
     public MainWindow() {
         setTitle("CPU Scheduling");
@@ -31,9 +41,12 @@ public class MainWindow extends JFrame {
         JPanel inputPanel = createPanel(new FlowLayout(FlowLayout.LEFT, 15, 15));
         inputPanel.add(new JLabel("Enter Time Quantum: "));
         inputPanel.add(timeQuantumInput);
+        inputPanel.add(new JLabel("Switch Time: "));
+        inputPanel.add(contextSwitchInput);
         inputPanel.add(new JLabel("Select Algorithm: "));
         inputPanel.add(algorithmComboBox);
         inputPanel.add(calculateButton);
+        inputPanel.add(compareButton);
 
         // Button panel
         JPanel buttonPanel = new JPanel();
@@ -58,7 +71,7 @@ public class MainWindow extends JFrame {
         tableAndButtonPanel.add(buttonPanel, BorderLayout.EAST);
 
         // Output panel
-        JPanel outputPanel = createPanel(new GridLayout(2, 4, 10, 10));
+        JPanel outputPanel = createPanel(new GridLayout(6, 4, 10, 10));
         outputPanel.add(new JLabel("Total Turnaround Time: ", SwingConstants.RIGHT));
         outputPanel.add(totalTurnaroundTimeOutput);
         outputPanel.add(new JLabel("Average Turnaround Time: ", SwingConstants.RIGHT));
@@ -67,24 +80,47 @@ public class MainWindow extends JFrame {
         outputPanel.add(totalWaitingTimeOutput);
         outputPanel.add(new JLabel("Average Waiting Time: ", SwingConstants.RIGHT));
         outputPanel.add(averageWaitingTimeOutput);
-
-        // Gantt Chart Panel
-        ganttChartPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 0, 3));
-        ganttChartPanel.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
-        
+        outputPanel.add(new JLabel("Total Response Time: ", SwingConstants.RIGHT));
+        outputPanel.add(totalResponseTimeOutput);
+        outputPanel.add(new JLabel("Average Response Time: ", SwingConstants.RIGHT));
+        outputPanel.add(averageResponseTimeOutput);
+        outputPanel.add(new JLabel("p99 Waiting Time: ", SwingConstants.RIGHT));
+        outputPanel.add(waitingTimeP99Output);
+        outputPanel.add(new JLabel("p99 Response Time: ", SwingConstants.RIGHT));
+        outputPanel.add(responseTimeP99Output);
+        outputPanel.add(new JLabel("Context Switches: ", SwingConstants.RIGHT));
+        outputPanel.add(contextSwitchCountOutput);
+        outputPanel.add(new JLabel("Switch Overhead: ", SwingConstants.RIGHT));
+        outputPanel.add(contextSwitchOverheadOutput);
+        outputPanel.add(new JLabel("CPU Utilization: ", SwingConstants.RIGHT));
+        outputPanel.add(cpuUtilizationOutput);
+        outputPanel.add(new JLabel("Device Utilization: ", SwingConstants.RIGHT));
+        outputPanel.add(deviceUtilizationOutput);
+
+        // Gantt Chart, painted directly from the timeline; Ctrl + mouse wheel zooms
         JLabel ganttChartLabel = new JLabel("Gantt Chart", SwingConstants.LEFT);
         ganttChartLabel.setFont(new Font("SansSerif", Font.BOLD, 14));
         ganttChartLabel.setBorder(BorderFactory.createEmptyBorder(5, 10, 5, 10));
 
+        // Progress of a running calculation, shown next to the label
+        progressBar.setStringPainted(true);
+        progressBar.setVisible(false);
+        JPanel ganttChartHeader = new JPanel(new BorderLayout());
+        ganttChartHeader.setBorder(BorderFactory.createEmptyBorder(0, 0, 0, 20));
+        ganttChartHeader.add(ganttChartLabel, BorderLayout.WEST);
+        ganttChartHeader.add(progressBar, BorderLayout.EAST);
+
         // Gantt Chart Scroll Pane with the label at the top
-        JScrollPane ganttChartScrollPane = new JScrollPane(ganttChartPanel);
+        JScrollPane ganttChartScrollPane = new JScrollPane(ganttChart);
         ganttChartScrollPane.setPreferredSize(new Dimension(1150, 170));
-        ganttChartScrollPane.setColumnHeaderView(ganttChartLabel);
+        JPanel ganttChartContainer = new JPanel(new BorderLayout());
+        ganttChartContainer.add(ganttChartHeader, BorderLayout.NORTH);
+        ganttChartContainer.add(ganttChartScrollPane, BorderLayout.CENTER);
 
         // Center panel (table, Gantt chart, and output)
         JPanel centerPanel = new JPanel(new BorderLayout());
         centerPanel.add(tableAndButtonPanel, BorderLayout.NORTH);
-        centerPanel.add(ganttChartScrollPane, BorderLayout.CENTER);
+        centerPanel.add(ganttChartContainer, BorderLayout.CENTER);
         centerPanel.add(outputPanel, BorderLayout.SOUTH);
 
         // Add components to the frame
@@ -93,7 +129,7 @@ public class MainWindow extends JFrame {
 
         // Finalize window
         pack();
-        setSize(850, 610);
+        setSize(980, 760);
         setResizable(false);
         setLocationRelativeTo(null);
         setVisible(true);
@@ -109,9 +145,9 @@ public class MainWindow extends JFrame {
     private void initializeTable() {
         String[] columnNames = {
             "Process ID", "Arrival Time", "Burst Time", 
-            "Priority", "Completion Time", "Turnaround Time", "Waiting Time"
+            "Priority", "Completion Time", "Turnaround Time", "Waiting Time", "Response Time"
         };
-        Object[][] data = new Object[3][7]; // Default to 3 rows
+        Object[][] data = new Object[3][8]; // Default to 3 rows
         // Initialize the table with empty process IDs
         for (Object[] data1 : data) {
             data1[0] = ""; // Empty Process ID
@@ -121,6 +157,7 @@ public class MainWindow extends JFrame {
             data1[4] = ""; // Empty Completion Time
             data1[5] = ""; // Empty Turnaround Time
             data1[6] = ""; // Empty Waiting Time
+            data1[7] = ""; // Empty Response Time
         }
     
         // Create a custom table model
@@ -133,7 +170,7 @@ public class MainWindow extends JFrame {
                     return true;
                 }
                 if (column == 3) { // Priority column
-                    return selectedAlgorithm.contains("Priority"); // Enable only for Priority-based algorithms
+                    return Controller.usesPriority(selectedAlgorithm); // Enable only for algorithms that read priorities
                 }
                 return false; // Other columns are non-editable
             }
@@ -149,8 +186,8 @@ public class MainWindow extends JFrame {
         // Add an event listener to the algorithmComboBox to update the table model
         algorithmComboBox.addActionListener(e -> {
             String selectedAlgorithm = (String) algorithmComboBox.getSelectedItem();
-            if (selectedAlgorithm.contains("Priority")) {
-                // Enable the Priority column for Priority-based algorithms
+            if (Controller.usesPriority(selectedAlgorithm)) {
+                // Enable the Priority column for algorithms that read priorities
                 model.fireTableStructureChanged(); // Refresh the table
             } else {
                 // Disable and clear the Priority column for other algorithms
@@ -167,6 +204,7 @@ public class MainWindow extends JFrame {
         deleteButton = new JButton("-");
         resetButton = new JButton("🗑️");
         calculateButton = new JButton("Calculate");
+        compareButton = new JButton("Compare All");
     
         // New button for clearing all data
         clearAllButton = new JButton("⟳");
@@ -193,6 +231,7 @@ public class MainWindow extends JFrame {
         deleteButton.addActionListener(e -> onDeleteButtonClicked());
         resetButton.addActionListener(e -> onResetButtonClicked());
         calculateButton.addActionListener(e -> onCalculateButtonClicked());
+        compareButton.addActionListener(e -> onCompareButtonClicked());
         clearAllButton.addActionListener(e -> onClearAllButtonClicked()); 
     }
 
@@ -220,18 +259,17 @@ public class MainWindow extends JFrame {
 
     private void initializeInputFields() {
         timeQuantumInput = new JTextField(10);
-        algorithmComboBox = new JComboBox<>(new String[] {
-            "Round Robin", "Preemptive SJF", "Non Preemptive SJF", "Preemptive Priority", "Non Preemptive Priority"
-        });
+        contextSwitchInput = new JTextField(5); // Blank means switches are free
+        algorithmComboBox = new JComboBox<>(Controller.ALGORITHMS);
     
         // Add an event listener to the algorithmComboBox
         algorithmComboBox.addActionListener(e -> {
             String selectedAlgorithm = (String) algorithmComboBox.getSelectedItem();
             DefaultTableModel model = (DefaultTableModel) processTable.getModel();
         
-            // Clear table columns (Completion Time, Turnaround Time, Waiting Time)
+            // Clear table columns (Completion Time, Turnaround Time, Waiting Time, Response Time)
             for (int i = 0; i < model.getRowCount(); i++) {
-                for (int j = 4; j <= 6; j++) { // Columns 4, 5, 6
+                for (int j = 4; j <= 7; j++) { // Columns 4, 5, 6, 7
                     model.setValueAt("", i, j);
                 }
             }
@@ -243,11 +281,11 @@ public class MainWindow extends JFrame {
             clearGanttChartPanel();
         
             // Enable/disable timeQuantumInput based on the selected algorithm
-            boolean isRoundRobin = selectedAlgorithm.equals("Round Robin");
-            timeQuantumInput.setEditable(isRoundRobin);
-            timeQuantumInput.setFocusable(isRoundRobin);
-            timeQuantumInput.setBackground(isRoundRobin ? Color.WHITE : Color.LIGHT_GRAY);
-            if (!isRoundRobin) timeQuantumInput.setText("");
+            boolean usesTimeQuantum = Controller.usesTimeQuantum(selectedAlgorithm);
+            timeQuantumInput.setEditable(usesTimeQuantum);
+            timeQuantumInput.setFocusable(usesTimeQuantum);
+            timeQuantumInput.setBackground(usesTimeQuantum ? Color.WHITE : Color.LIGHT_GRAY);
+            if (!usesTimeQuantum) timeQuantumInput.setText("");
         
             // Do not clear Priority column values; simply refresh the table
             model.fireTableDataChanged();
@@ -255,11 +293,11 @@ public class MainWindow extends JFrame {
     
         // Initialize timeQuantumInput based on the default selected algorithm
         String defaultAlgorithm = (String) algorithmComboBox.getSelectedItem();
-        boolean isRoundRobin = defaultAlgorithm.equals("Round Robin");
-        timeQuantumInput.setEditable(isRoundRobin);
-        timeQuantumInput.setFocusable(isRoundRobin);
-        timeQuantumInput.setBackground(isRoundRobin ? Color.WHITE : Color.LIGHT_GRAY);
-        if (!isRoundRobin) timeQuantumInput.setText("");
+        boolean usesTimeQuantum = Controller.usesTimeQuantum(defaultAlgorithm);
+        timeQuantumInput.setEditable(usesTimeQuantum);
+        timeQuantumInput.setFocusable(usesTimeQuantum);
+        timeQuantumInput.setBackground(usesTimeQuantum ? Color.WHITE : Color.LIGHT_GRAY);
+        if (!usesTimeQuantum) timeQuantumInput.setText("");
     }
     
     // Helper method to clear output fields
@@ -268,13 +306,19 @@ public class MainWindow extends JFrame {
         averageTurnaroundTimeOutput.setText("0.0");
         totalWaitingTimeOutput.setText("0");
         averageWaitingTimeOutput.setText("0.0");
+        totalResponseTimeOutput.setText("0");
+        averageResponseTimeOutput.setText("0.0");
+        waitingTimeP99Output.setText("0");
+        responseTimeP99Output.setText("0");
+        contextSwitchCountOutput.setText("0");
+        contextSwitchOverheadOutput.setText("0");
+        cpuUtilizationOutput.setText("0.0%");
+        deviceUtilizationOutput.setText("-");
     }
     
     // Helper method to clear the Gantt chart panel
     private void clearGanttChartPanel() {
-        ganttChartPanel.removeAll();
-        ganttChartPanel.revalidate();
-        ganttChartPanel.repaint();
+        ganttChart.setTimeline(null);
     }
 
     private void initializeOutputFields() {
@@ -283,7 +327,15 @@ public class MainWindow extends JFrame {
             totalTurnaroundTimeOutput = new JTextField("0"),
             averageTurnaroundTimeOutput = new JTextField("0.0"),
             totalWaitingTimeOutput = new JTextField("0"),
-            averageWaitingTimeOutput = new JTextField("0.0")
+            averageWaitingTimeOutput = new JTextField("0.0"),
+            totalResponseTimeOutput = new JTextField("0"),
+            averageResponseTimeOutput = new JTextField("0.0"),
+            waitingTimeP99Output = new JTextField("0"),
+            responseTimeP99Output = new JTextField("0"),
+            contextSwitchCountOutput = new JTextField("0"),
+            contextSwitchOverheadOutput = new JTextField("0"),
+            cpuUtilizationOutput = new JTextField("0.0%"),
+            deviceUtilizationOutput = new JTextField("-")
         };
     
         // Apply common properties to each field using a for loop
@@ -296,7 +348,7 @@ public class MainWindow extends JFrame {
 
     private void onAddButtonClicked() {
         DefaultTableModel model = (DefaultTableModel) processTable.getModel();
-        model.addRow(new Object[]{"", "", "", "", "", "", ""});
+        model.addRow(new Object[]{"", "", "", "", "", "", "", ""});
     }
 
     private void onDeleteButtonClicked() {
@@ -316,6 +368,12 @@ public class MainWindow extends JFrame {
     }
 
     private void onCalculateButtonClicked() {
+        // While a calculation is running the button cancels it
+        if (runningWorker != null) {
+            runningWorker.cancel(true);
+            return;
+        }
+
         DefaultTableModel model = (DefaultTableModel) processTable.getModel();
         String selectedAlgorithm = (String) algorithmComboBox.getSelectedItem();
         int timeQuantum = 0;
@@ -325,53 +383,301 @@ public class MainWindow extends JFrame {
             processTable.getCellEditor().stopCellEditing();
         }
 
-        // Validate and collect data
-        List<Process> processes = new ArrayList<>();
-        Set<String> processIDs = new HashSet<>(); // To track duplicate process IDs
+        // First, check for empty or duplicate process IDs
+        if (!validateProcessIDs(model)) {
+            return;
+        }
 
-        try {
-            // First, check for duplicate process IDs
-            for (int i = 0; i < model.getRowCount(); i++) {
-                Object processIDObj = model.getValueAt(i, 0); // Column 0: Process ID
-                String processIDText = processIDObj != null ? processIDObj.toString().trim() : "";
+        // If no duplicates, proceed with the rest of the validation and calculation
+        if (Controller.usesTimeQuantum(selectedAlgorithm)) {
+            timeQuantum = readTimeQuantum(timeQuantumInput.getText().trim());
+            if (timeQuantum <= 0) {
+                return;
+            }
+        }
 
-                if (processIDText.isEmpty()) {
-                    JOptionPane.showMessageDialog(this,
-                        "Process ID for row " + (i + 1) + " cannot be empty.",
-                        "Error", JOptionPane.ERROR_MESSAGE);
-                    return;
+        int contextSwitchTime = readContextSwitchTime(contextSwitchInput.getText().trim());
+        if (contextSwitchTime < 0) {
+            return;
+        }
+
+        List<Process> processes = readProcesses(model, selectedAlgorithm.contains("Priority"));
+        if (processes == null) {
+            return;
+        }
+
+        // Perform scheduling calculation in the background so the window stays responsive
+        Controller controller = new Controller(processes, timeQuantum);
+        controller.setContextSwitchTime(contextSwitchTime);
+        SwingWorker<Map<String, Process>, Void> worker = new SwingWorker<>() {
+            private int reportedPercent = -1;
+
+            @Override
+            protected Map<String, Process> doInBackground() {
+                controller.setProgressListener((finishedCount, processCount) -> {
+                    int percent = (int) (100L * finishedCount / processCount);
+                    if (percent != reportedPercent) {
+                        reportedPercent = percent;
+                        setProgress(percent);
+                    }
+                });
+                controller.execute(selectedAlgorithm);
+
+                // Index the results by Process ID so the table can be filled in one pass
+                Map<String, Process> results = new HashMap<>();
+                for (Process process : processes) {
+                    results.put(process.getProcessID(), process);
                 }
+                return results;
+            }
 
-                // Check for duplicate process IDs
-                if (processIDs.contains(processIDText)) {
-                    JOptionPane.showMessageDialog(this,
-                        "Duplicate Process ID found: " + processIDText + ". Process IDs must be unique.",
-                        "Error", JOptionPane.ERROR_MESSAGE);
-                    return;
+            @Override
+            protected void done() {
+                finishRun(this);
+                try {
+                    showResults(controller, get());
+                } catch (CancellationException e) {
+                    // Cancelled by the user; keep what was shown before
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    showRunFailure(e);
                 }
+            }
+        };
+        worker.addPropertyChangeListener(event -> {
+            if ("progress".equals(event.getPropertyName())) {
+                progressBar.setValue((Integer) event.getNewValue());
+            }
+        });
+        startRun(worker, false);
+    }
 
-                processIDs.add(processIDText); // Add the process ID to the set
+    // Applies a finished run to the table, output fields and Gantt chart in one batch
+    @SuppressWarnings("unchecked")
+    private void showResults(Controller controller, Map<String, Process> results) {
+        DefaultTableModel model = (DefaultTableModel) processTable.getModel();
+
+        // Update the table with results, writing the rows directly and firing a single change event
+        for (Vector<Object> row : (Vector<Vector<Object>>) (Vector<?>) model.getDataVector()) {
+            Object processIDObj = row.get(0); // Column 0: Process ID
+            Process process = results.get(processIDObj != null ? processIDObj.toString().trim() : "");
+            if (process != null) {
+                row.set(4, process.getCompletionTime()); // Column 4: Completion Time
+                row.set(5, process.getTurnaroundTime()); // Column 5: Turnaround Time
+                row.set(6, process.getWaitingTime());    // Column 6: Waiting Time
+                row.set(7, process.getResponseTime());   // Column 7: Response Time
             }
+        }
+        
+        // Refresh the table model to reflect changes
+        model.fireTableDataChanged();
 
-            // If no duplicates, proceed with the rest of the validation and calculation
-            if (selectedAlgorithm.equals("Round Robin")) {
-                String timeQuantumText = timeQuantumInput.getText().trim();
-                if (timeQuantumText.contains(" ") || timeQuantumText.isEmpty()) {
-                    JOptionPane.showMessageDialog(this,
-                        "Time Quantum must be a single positive number without spaces.",
-                        "Error", JOptionPane.ERROR_MESSAGE);
-                    return;
-                }
+        // Update output fields
+        totalTurnaroundTimeOutput.setText(String.valueOf(controller.getTotalTurnaroundTime()));
+        averageTurnaroundTimeOutput.setText(String.format("%.2f", controller.getAverageTurnaroundTime()));
+        totalWaitingTimeOutput.setText(String.valueOf(controller.getTotalWaitingTime()));
+        averageWaitingTimeOutput.setText(String.format("%.2f", controller.getAverageWaitingTime()));
+        totalResponseTimeOutput.setText(String.valueOf(controller.getTotalResponseTime()));
+        averageResponseTimeOutput.setText(String.format("%.2f", controller.getAverageResponseTime()));
+        waitingTimeP99Output.setText(String.valueOf(controller.getWaitingTimeHistogram().getValueAtPercentile(99)));
+        responseTimeP99Output.setText(String.valueOf(controller.getResponseTimeHistogram().getValueAtPercentile(99)));
+        contextSwitchCountOutput.setText(String.valueOf(controller.getContextSwitchCount()));
+        contextSwitchOverheadOutput.setText(String.valueOf(controller.getContextSwitchCount() * controller.getContextSwitchTime()));
+        cpuUtilizationOutput.setText(String.format("%.1f%%", controller.getCpuUtilization() * 100));
+        deviceUtilizationOutput.setText(formatDeviceUtilization(controller));
 
-                timeQuantum = Integer.parseInt(timeQuantumText);
-                if (timeQuantum <= 0) {
-                    JOptionPane.showMessageDialog(this,
-                        "Time Quantum must be positive.",
-                        "Error", JOptionPane.ERROR_MESSAGE);
-                    return;
+        // Display Gantt Chart
+        ganttChart.setTimeline(controller.getTimeline());
+    }
+
+    // One "device: percent" entry per device, or "-" when no process does I/O
+    private static String formatDeviceUtilization(Controller controller) {
+        IODevices devices = controller.getIODevices();
+        if (devices == null) {
+            return "-";
+        }
+        StringJoiner text = new StringJoiner(", ");
+        for (int device = 0; device < devices.getDeviceCount(); device++) {
+            text.add(String.format("%d: %.1f%%", device, controller.getDeviceUtilization(device) * 100));
+        }
+        return text.toString();
+    }
+
+    // Switches the window into its running state; Calculate becomes Cancel until the worker is done
+    private void startRun(SwingWorker<?, ?> worker, boolean indeterminate) {
+        runningWorker = worker;
+        calculateButton.setText("Cancel");
+        compareButton.setEnabled(false);
+        algorithmComboBox.setEnabled(false);
+        progressBar.setIndeterminate(indeterminate);
+        progressBar.setStringPainted(!indeterminate);
+        progressBar.setValue(0);
+        progressBar.setVisible(true);
+        worker.execute();
+    }
+
+    private void finishRun(SwingWorker<?, ?> worker) {
+        if (runningWorker != worker) {
+            return;
+        }
+        runningWorker = null;
+        calculateButton.setText("Calculate");
+        compareButton.setEnabled(true);
+        algorithmComboBox.setEnabled(true);
+        progressBar.setVisible(false);
+    }
+
+    private void showRunFailure(ExecutionException e) {
+        JOptionPane.showMessageDialog(this,
+            "Calculation failed: " + e.getCause().getMessage(),
+            "Error", JOptionPane.ERROR_MESSAGE);
+    }
+
+    private void onCompareButtonClicked() {
+        DefaultTableModel model = (DefaultTableModel) processTable.getModel();
+
+        // Commit any pending cell edits
+        if (processTable.isEditing()) {
+            processTable.getCellEditor().stopCellEditing();
+        }
+
+        if (!validateProcessIDs(model)) {
+            return;
+        }
+
+        // Round Robin and MLFQ are part of the comparison, so it always needs a time quantum
+        String timeQuantumText = timeQuantumInput.getText().trim();
+        if (timeQuantumText.isEmpty()) {
+            timeQuantumText = JOptionPane.showInputDialog(this,
+                "Enter the Time Quantum to use for Round Robin and Multilevel Feedback Queue:", "Compare All", JOptionPane.QUESTION_MESSAGE);
+            if (timeQuantumText == null) {
+                return;
+            }
+        }
+        int timeQuantum = readTimeQuantum(timeQuantumText.trim());
+        if (timeQuantum <= 0) {
+            return;
+        }
+        int contextSwitchTime = readContextSwitchTime(contextSwitchInput.getText().trim());
+        if (contextSwitchTime < 0) {
+            return;
+        }
+
+        // Priorities are used when present; rows without one default to 0
+        List<Process> processes = readProcesses(model, false);
+        if (processes == null) {
+            return;
+        }
+
+        SwingWorker<AlgorithmComparison, Void> worker = new SwingWorker<>() {
+            @Override
+            protected AlgorithmComparison doInBackground() throws Exception {
+                return AlgorithmComparison.run(processes, timeQuantum, contextSwitchTime);
+            }
+
+            @Override
+            protected void done() {
+                finishRun(this);
+                try {
+                    JTextArea reportArea = new JTextArea(get().formatReport());
+                    reportArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+                    reportArea.setEditable(false);
+                    JOptionPane.showMessageDialog(MainWindow.this, new JScrollPane(reportArea), "Algorithm Comparison", JOptionPane.PLAIN_MESSAGE);
+                } catch (CancellationException e) {
+                    // Cancelled by the user
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    showRunFailure(e);
                 }
             }
+        };
+        startRun(worker, true);
+    }
+
+    // Shows an error and returns false if a Process ID is empty or duplicated
+    private boolean validateProcessIDs(DefaultTableModel model) {
+        Set<String> processIDs = new HashSet<>(); // To track duplicate process IDs
+
+        for (int i = 0; i < model.getRowCount(); i++) {
+            Object processIDObj = model.getValueAt(i, 0); // Column 0: Process ID
+            String processIDText = processIDObj != null ? processIDObj.toString().trim() : "";
+
+            if (processIDText.isEmpty()) {
+                JOptionPane.showMessageDialog(this,
+                    "Process ID for row " + (i + 1) + " cannot be empty.",
+                    "Error", JOptionPane.ERROR_MESSAGE);
+                return false;
+            }
+
+            // Check for duplicate process IDs
+            if (processIDs.contains(processIDText)) {
+                JOptionPane.showMessageDialog(this,
+                    "Duplicate Process ID found: " + processIDText + ". Process IDs must be unique.",
+                    "Error", JOptionPane.ERROR_MESSAGE);
+                return false;
+            }
+
+            processIDs.add(processIDText); // Add the process ID to the set
+        }
+        return true;
+    }
+
+    // Shows an error and returns 0 if the time quantum is not a positive number
+    private int readTimeQuantum(String timeQuantumText) {
+        if (timeQuantumText.contains(" ") || timeQuantumText.isEmpty()) {
+            JOptionPane.showMessageDialog(this,
+                "Time Quantum must be a single positive number without spaces.",
+                "Error", JOptionPane.ERROR_MESSAGE);
+            return 0;
+        }
+
+        try {
+            int timeQuantum = Integer.parseInt(timeQuantumText);
+            if (timeQuantum <= 0) {
+                JOptionPane.showMessageDialog(this,
+                    "Time Quantum must be positive.",
+                    "Error", JOptionPane.ERROR_MESSAGE);
+                return 0;
+            }
+            return timeQuantum;
+        } catch (NumberFormatException e) {
+            JOptionPane.showMessageDialog(this,
+                "Invalid input values. Please check your entries.",
+                "Error", JOptionPane.ERROR_MESSAGE);
+            return 0;
+        }
+    }
+
+    // A blank switch time means switches are free; shows an error and returns -1 if it is invalid
+    private int readContextSwitchTime(String contextSwitchText) {
+        if (contextSwitchText.isEmpty()) {
+            return 0;
+        }
+        try {
+            int contextSwitchTime = Integer.parseInt(contextSwitchText);
+            if (contextSwitchTime < 0) {
+                JOptionPane.showMessageDialog(this,
+                    "Switch Time must not be negative.",
+                    "Error", JOptionPane.ERROR_MESSAGE);
+                return -1;
+            }
+            return contextSwitchTime;
+        } catch (NumberFormatException e) {
+            JOptionPane.showMessageDialog(this,
+                "Switch Time must be a whole number.",
+                "Error", JOptionPane.ERROR_MESSAGE);
+            return -1;
+        }
+    }
 
+    // Builds the process list from the table, or shows an error and returns null.
+    // When requirePriority is false, an empty Priority cell means priority 0.
+    private List<Process> readProcesses(DefaultTableModel model, boolean requirePriority) {
+        List<Process> processes = new ArrayList<>();
+
+        try {
             for (int i = 0; i < model.getRowCount(); i++) {
                 // Validate Process ID (already checked for duplicates above)
                 Object processIDObj = model.getValueAt(i, 0); // Column 0: Process ID
@@ -385,10 +691,16 @@ public class MainWindow extends JFrame {
                     JOptionPane.showMessageDialog(this,
                         "Arrival Time for Process ID " + processIDText + " must be a single positive number without spaces.",
                         "Error", JOptionPane.ERROR_MESSAGE);
-                    return;
+                    return null;
                 }
 
-                int arrivalTime = Integer.parseInt(arrivalTimeText);
+                long arrivalTime = Long.parseLong(arrivalTimeText);
+                if (arrivalTime < 0) {
+                    JOptionPane.showMessageDialog(this,
+                        "Arrival Time for Process ID " + processIDText + " must not be negative.",
+                        "Error", JOptionPane.ERROR_MESSAGE);
+                    return null;
+                }
 
                 // Validate Burst Time
                 Object burstTimeObj = model.getValueAt(i, 2); // Column 2: Burst Time
@@ -398,79 +710,57 @@ public class MainWindow extends JFrame {
                     JOptionPane.showMessageDialog(this,
                         "Burst Time for Process ID " + processIDText + " must be a single positive number without spaces.",
                         "Error", JOptionPane.ERROR_MESSAGE);
-                    return;
+                    return null;
                 }
 
-                int burstTime = Integer.parseInt(burstTimeText);
+                // Alternating CPU and I/O bursts, e.g. 5;3;4
+                BurstSequence bursts = null;
+                if (burstTimeText.contains(";")) {
+                    try {
+                        bursts = BurstSequence.parse(burstTimeText);
+                    } catch (IllegalArgumentException e) {
+                        JOptionPane.showMessageDialog(this,
+                            "Burst Time for Process ID " + processIDText + " must be CPU and I/O bursts separated by ';', such as 5;3;4.",
+                            "Error", JOptionPane.ERROR_MESSAGE);
+                        return null;
+                    }
+                }
+                if (bursts != null ? bursts.getTotalCpuTime() <= 0 : Long.parseLong(burstTimeText) <= 0) {
+                    JOptionPane.showMessageDialog(this,
+                        "Burst Time for Process ID " + processIDText + " must be positive.",
+                        "Error", JOptionPane.ERROR_MESSAGE);
+                    return null;
+                }
 
                 // Validate Priority if applicable
                 int priority = 0; // Default priority
-                if (selectedAlgorithm.contains("Priority")) {
-                    Object priorityObj = model.getValueAt(i, 3); // Column 3: Priority
-                    String priorityText = priorityObj != null ? priorityObj.toString().trim() : "";
-
+                Object priorityObj = model.getValueAt(i, 3); // Column 3: Priority
+                String priorityText = priorityObj != null ? priorityObj.toString().trim() : "";
+                if (requirePriority || !priorityText.isEmpty()) {
                     if (priorityText.contains(" ") || priorityText.isEmpty()) {
                         JOptionPane.showMessageDialog(this,
                             "Priority for Process ID " + processIDText + " must be a single number without spaces.",
                             "Error", JOptionPane.ERROR_MESSAGE);
-                        return;
+                        return null;
                     }
 
                     priority = Integer.parseInt(priorityText);
                 }
 
-                processes.add(new Process(processIDText, arrivalTime, burstTime, priority));
+                if (bursts != null) {
+                    processes.add(new Process(processIDText, arrivalTime, bursts, priority));
+                } else {
+                    processes.add(new Process(processIDText, arrivalTime, Long.parseLong(burstTimeText), priority));
+                }
             }
         } catch (NumberFormatException e) {
             JOptionPane.showMessageDialog(this,
                 "Invalid input values. Please check your entries.",
                 "Error", JOptionPane.ERROR_MESSAGE);
-            return;
+            return null;
         }
 
-        // Perform scheduling calculation
-        Controller controller = new Controller(processes, timeQuantum);
-
-        switch (selectedAlgorithm) {
-            case "Round Robin" -> controller.executeRoundRobin();
-            case "Preemptive SJF" -> controller.executePreemptiveSJF();
-            case "Non Preemptive SJF" -> controller.executeNonPreemptiveSJF();
-            case "Preemptive Priority" -> controller.executePreemptivePriority();
-            case "Non Preemptive Priority" -> controller.executeNonPreemptivePriority();
-        }
 
-        // Update the table with results
-        for (int i = 0; i < model.getRowCount(); i++) {
-            // Get the Process ID from the table
-            Object processIDObj = model.getValueAt(i, 0); // Column 0: Process ID
-            String processIDText = processIDObj != null ? processIDObj.toString().trim() : "";
-        
-            // Find the corresponding process in the processes list
-            for (Process process : processes) {
-                if (process.getProcessID().equals(processIDText)) {
-                    // Update the table row with the correct process data
-                    model.setValueAt(process.getCompletionTime(), i, 4); // Column 4: Completion Time
-                    model.setValueAt(process.getTurnaroundTime(), i, 5); // Column 5: Turnaround Time
-                    model.setValueAt(process.getWaitingTime(), i, 6);    // Column 6: Waiting Time
-                    break; // Exit the inner loop once the process is found
-                }
-            }
-        }
-        
-        // Refresh the table model to reflect changes
-        model.fireTableDataChanged();
-
-        // Update output fields
-        totalTurnaroundTimeOutput.setText(String.valueOf(controller.getTotalTurnaroundTime()));
-        averageTurnaroundTimeOutput.setText(String.format("%.2f", controller.getAverageTurnaroundTime()));
-        totalWaitingTimeOutput.setText(String.valueOf(controller.getTotalWaitingTime()));
-        averageWaitingTimeOutput.setText(String.format("%.2f", controller.getAverageWaitingTime()));
-
-        // Display Gantt Chart
-        ganttChartPanel.removeAll(); // Clear previous Gantt chart
-        GanttChart ganttChart = new GanttChart();
-        ganttChart.ganttChart(ganttChartPanel, controller); // Draw the Gantt chart
-        ganttChartPanel.revalidate(); // Refresh the panel
-        ganttChartPanel.repaint(); // Repaint the panel
+        return processes;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,443 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+// Runs Round Robin, SJF and Priority scheduling (preemptive or not) on several CPUs at
+// once. It is a separate command-line simulator, not part of the window: MLFQ, CFS,
+// aging, context-switch cost and I/O bursts are Controller-only, and traces with I/O
+// bursts are rejected.
+//
+// With a global queue every CPU takes the next process from one shared ready queue, and
+// a preemptive algorithm preempts whichever running process ranks lowest. With per-CPU
+// queues each arrival joins the shortest queue, preempted processes go back to the CPU
+// they ran on, and a CPU whose queue is empty steals the next process from the longest
+// queue. With one CPU both modes schedule exactly like Controller with no switch cost
+// and no aging.
+//
+// Each CPU gets its own Timeline lane, padded with idle time up to the makespan.
+//
+// Usage: java MultiCoreController --algorithm <name> --cpus <n> [--queues global|per-cpu]
+//        [--quantum <n>] [--timeline <file.csv>] <trace>
+public class MultiCoreController {
+    public static final String GLOBAL_QUEUE = "global";
+    public static final String PER_CPU_QUEUES = "per-cpu";
+    public static final String[] ALGORITHMS = {"Round Robin", "Non Preemptive SJF", "Preemptive SJF",
+        "Non Preemptive Priority", "Preemptive Priority"};
+
+    private final ProcessTable table;
+    private final int cpuCount;
+    private final int quantumTime;
+    private String queueMode = GLOBAL_QUEUE;
+
+    private boolean roundRobin;
+    private boolean preemptive;
+    private String algorithm;
+    private long sequence; // Round Robin queues in enqueue order
+    private ReadyQueue[] queues;
+    private int[] running; // Process on each CPU, or -1
+    private long[] runStart; // Time the running process's current slice was last accounted up to
+    private long[] sliceEnd; // Time the running process completes or its quantum expires
+    private long[] laneTime; // End of the last slice recorded in each lane
+    private int[] lastCpu; // CPU each process last ran on, or -1
+    private Timeline[] lanes;
+    private long[] busyTimes;
+    private long makespan = 0;
+    private long totalTurnaroundTime = 0;
+    private long totalWaitingTime = 0;
+    private long steals = 0;
+    private long migrations = 0;
+
+    public MultiCoreController(ProcessTable table, int cpuCount, int quantumTime) {
+        if (cpuCount <= 0) {
+            throw new IllegalArgumentException("CPU count must be positive.");
+        }
+        this.table = table;
+        this.cpuCount = cpuCount;
+        this.quantumTime = quantumTime;
+    }
+
+    public static void main(String[] args) {
+        String algorithm = null;
+        int cpuCount = 1;
+        int quantumTime = 0;
+        String queueMode = GLOBAL_QUEUE;
+        Path timelinePath = null;
+        Path trace = null;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--algorithm", "-a" -> algorithm = BatchRunner.resolveAlgorithm(requireValue(args, ++i));
+                    case "--cpus", "-c" -> cpuCount = Integer.parseInt(requireValue(args, ++i));
+                    case "--quantum", "-q" -> quantumTime = Integer.parseInt(requireValue(args, ++i));
+                    case "--queues" -> queueMode = requireValue(args, ++i);
+                    case "--timeline" -> timelinePath = Paths.get(requireValue(args, ++i));
+                    default -> trace = Paths.get(args[i]);
+                }
+            }
+            if (algorithm == null || trace == null) {
+                throw new IllegalArgumentException("An algorithm and a trace are required.");
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.err.println("Usage: java MultiCoreController --algorithm <name> --cpus <n> [--queues global|per-cpu] [--quantum <n>] [--timeline <file.csv>] <trace>");
+            System.err.println("Algorithms: " + String.join(", ", ALGORITHMS));
+            System.exit(2);
+            return;
+        }
+
+        try {
+            MultiCoreController controller = new MultiCoreController(TraceLoader.load(trace), cpuCount, quantumTime);
+            controller.setQueueMode(queueMode);
+            controller.execute(algorithm);
+            System.out.print(controller.formatReport());
+            if (timelinePath != null) {
+                controller.writeTimeline(timelinePath);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    public void setQueueMode(String queueMode) {
+        if (!queueMode.equals(GLOBAL_QUEUE) && !queueMode.equals(PER_CPU_QUEUES)) {
+            throw new IllegalArgumentException("Unknown queue mode: " + queueMode);
+        }
+        this.queueMode = queueMode;
+    }
+
+    public void execute(String algorithm) {
+        switch (algorithm) {
+            case "Round Robin", "Non Preemptive SJF", "Non Preemptive Priority" -> preemptive = false;
+            case "Preemptive SJF", "Preemptive Priority" -> preemptive = true;
+            default -> throw new IllegalArgumentException("Not supported on multiple CPUs: " + algorithm
+                + " (supported: " + String.join(", ", ALGORITHMS) + ")");
+        }
+        roundRobin = algorithm.equals("Round Robin");
+        if (roundRobin && quantumTime <= 0) {
+            throw new IllegalArgumentException("Time Quantum must be positive.");
+        }
+        if (table.size() == 0) {
+            throw new IllegalArgumentException("There are no processes to schedule.");
+        }
+        if (table.hasIO()) {
+            throw new IllegalArgumentException("I/O bursts are not supported on multiple CPUs.");
+        }
+        this.algorithm = algorithm;
+        start();
+
+        int processCount = table.size();
+        long currentTime = 0;
+        int arrivedCount = 0;
+        int unfinishedCount = processCount;
+        boolean[] expired = new boolean[cpuCount];
+
+        while (unfinishedCount > 0) {
+            // Account every running slice up to now, so remaining times and lanes are current
+            for (int cpu = 0; cpu < cpuCount; cpu++) {
+                int process = running[cpu];
+                if (process < 0) {
+                    continue;
+                }
+                recordRun(cpu, currentTime);
+                if (table.getRemainingBurstTime(process) == 0) {
+                    complete(process, currentTime);
+                    running[cpu] = -1;
+                    unfinishedCount--;
+                } else if (roundRobin && currentTime == sliceEnd[cpu]) {
+                    expired[cpu] = true;
+                }
+            }
+
+            while (arrivedCount < processCount && table.getArrivalTime(arrivedCount) <= currentTime) {
+                enqueue(arrivedCount, shortestQueue());
+                arrivedCount++;
+            }
+
+            // Expired quanta go behind the processes that arrived meanwhile
+            for (int cpu = 0; cpu < cpuCount; cpu++) {
+                if (expired[cpu]) {
+                    enqueue(running[cpu], queueOf(cpu));
+                    running[cpu] = -1;
+                    expired[cpu] = false;
+                }
+            }
+
+            if (queueMode.equals(GLOBAL_QUEUE)) {
+                dispatchGlobal(currentTime);
+            } else {
+                dispatchPerCpu(currentTime);
+            }
+
+            long nextEventTime = arrivedCount < processCount ? table.getArrivalTime(arrivedCount) : Long.MAX_VALUE;
+            for (int cpu = 0; cpu < cpuCount; cpu++) {
+                if (running[cpu] >= 0) {
+                    nextEventTime = Math.min(nextEventTime, sliceEnd[cpu]);
+                }
+            }
+            if (unfinishedCount > 0) {
+                currentTime = nextEventTime;
+            }
+        }
+
+        finish();
+    }
+
+    private void dispatchGlobal(long currentTime) {
+        ReadyQueue queue = queues[0];
+        for (int cpu = 0; cpu < cpuCount && !queue.isEmpty(); cpu++) {
+            if (running[cpu] < 0) {
+                dispatch(cpu, queue.poll(), currentTime);
+            }
+        }
+        // Keep preempting the lowest-ranked running process while the queue holds a better one
+        while (preemptive && !queue.isEmpty()) {
+            int worst = -1;
+            for (int cpu = 0; cpu < cpuCount; cpu++) {
+                if (running[cpu] >= 0 && (worst < 0 || ranksBelow(running[cpu], running[worst]))) {
+                    worst = cpu;
+                }
+            }
+            if (worst < 0 || !queue.headPrecedes(running[worst], keyOf(running[worst]))) {
+                break;
+            }
+            queue.add(running[worst], keyOf(running[worst]));
+            dispatch(worst, queue.poll(), currentTime);
+        }
+    }
+
+    private void dispatchPerCpu(long currentTime) {
+        for (int cpu = 0; cpu < cpuCount; cpu++) {
+            ReadyQueue queue = queues[cpu];
+            if (running[cpu] < 0) {
+                if (queue.isEmpty()) {
+                    int victim = longestQueue();
+                    if (victim >= 0) {
+                        steals++;
+                        dispatch(cpu, queues[victim].poll(), currentTime);
+                    }
+                } else {
+                    dispatch(cpu, queue.poll(), currentTime);
+                }
+            } else if (preemptive && !queue.isEmpty() && queue.headPrecedes(running[cpu], keyOf(running[cpu]))) {
+                queue.add(running[cpu], keyOf(running[cpu]));
+                dispatch(cpu, queue.poll(), currentTime);
+            }
+        }
+    }
+
+    private void dispatch(int cpu, int process, long currentTime) {
+        if (laneTime[cpu] < currentTime) {
+            lanes[cpu].append(Timeline.IDLE, laneTime[cpu], currentTime - laneTime[cpu]);
+            laneTime[cpu] = currentTime;
+        }
+        if (lastCpu[process] >= 0 && lastCpu[process] != cpu) {
+            migrations++;
+        }
+        lastCpu[process] = cpu;
+        running[cpu] = process;
+        runStart[cpu] = currentTime;
+        long remaining = table.getRemainingBurstTime(process);
+        sliceEnd[cpu] = currentTime + (roundRobin ? Math.min(quantumTime, remaining) : remaining);
+    }
+
+    private void recordRun(int cpu, long currentTime) {
+        int process = running[cpu];
+        long ran = currentTime - runStart[cpu];
+        if (ran > 0) {
+            lanes[cpu].append(process, runStart[cpu], ran);
+            table.recordFirstRun(process, runStart[cpu]);
+            table.reduceRemainingBurstTime(process, ran);
+            busyTimes[cpu] += ran;
+            laneTime[cpu] = currentTime;
+        }
+        runStart[cpu] = currentTime;
+    }
+
+    private void enqueue(int process, ReadyQueue queue) {
+        queue.add(process, keyOf(process));
+    }
+
+    private long keyOf(int process) {
+        return switch (algorithm) {
+            case "Round Robin" -> sequence++;
+            case "Preemptive SJF" -> table.getRemainingBurstTime(process);
+            case "Non Preemptive SJF" -> table.getBurstTime(process);
+            default -> table.getPriority(process);
+        };
+    }
+
+    // Same (key, index) order as the ready queue
+    private boolean ranksBelow(int process, int other) {
+        long key = keyOf(process);
+        long otherKey = keyOf(other);
+        return key > otherKey || (key == otherKey && process > other);
+    }
+
+    private ReadyQueue queueOf(int cpu) {
+        return queues.length == 1 ? queues[0] : queues[cpu];
+    }
+
+    // Queue an arrival joins: the one with the fewest processes, counting the running one
+    private ReadyQueue shortestQueue() {
+        if (queues.length == 1) {
+            return queues[0];
+        }
+        int best = 0;
+        for (int cpu = 1; cpu < cpuCount; cpu++) {
+            if (load(cpu) < load(best)) {
+                best = cpu;
+            }
+        }
+        return queues[best];
+    }
+
+    private int load(int cpu) {
+        return queues[cpu].size() + (running[cpu] >= 0 ? 1 : 0);
+    }
+
+    private int longestQueue() {
+        int victim = -1;
+        for (int cpu = 0; cpu < cpuCount; cpu++) {
+            if (!queues[cpu].isEmpty() && (victim < 0 || queues[cpu].size() > queues[victim].size())) {
+                victim = cpu;
+            }
+        }
+        return victim;
+    }
+
+    private void complete(int process, long completionTime) {
+        table.setCompletionTime(process, completionTime);
+        table.recordFirstRun(process, completionTime); // A zero-length burst responds when it completes
+        makespan = Math.max(makespan, completionTime);
+    }
+
+    private void start() {
+        table.sortByArrival();
+        table.reset();
+        int processCount = table.size();
+        int queueCount = queueMode.equals(GLOBAL_QUEUE) ? 1 : cpuCount;
+        queues = new ReadyQueue[queueCount];
+        for (int i = 0; i < queueCount; i++) {
+            queues[i] = new ReadyQueue(processCount / queueCount + 16);
+        }
+        running = new int[cpuCount];
+        Arrays.fill(running, -1);
+        runStart = new long[cpuCount];
+        sliceEnd = new long[cpuCount];
+        laneTime = new long[cpuCount];
+        lastCpu = new int[processCount];
+        Arrays.fill(lastCpu, -1);
+        lanes = new Timeline[cpuCount];
+        for (int cpu = 0; cpu < cpuCount; cpu++) {
+            lanes[cpu] = new Timeline(table);
+        }
+        busyTimes = new long[cpuCount];
+        sequence = 0;
+        makespan = 0;
+        steals = 0;
+        migrations = 0;
+    }
+
+    private void finish() {
+        for (int cpu = 0; cpu < cpuCount; cpu++) {
+            lanes[cpu].append(Timeline.IDLE, laneTime[cpu], makespan - laneTime[cpu]);
+        }
+        totalTurnaroundTime = 0;
+        totalWaitingTime = 0;
+        for (int i = 0; i < table.size(); i++) {
+            totalTurnaroundTime += table.getTurnaroundTime(i);
+            totalWaitingTime += table.getWaitingTime(i);
+        }
+    }
+
+    public void writeTimeline(Path path) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write("cpu,processID,startTime,duration");
+            writer.newLine();
+            for (int cpu = 0; cpu < cpuCount; cpu++) {
+                Timeline lane = lanes[cpu];
+                for (int entry = 0; entry < lane.size(); entry++) {
+                    writer.write(cpu + "," + BatchRunner.csvField(lane.getProcessID(entry)) + "," + lane.getStartTime(entry) + "," + lane.getDuration(entry));
+                    writer.newLine();
+                }
+            }
+        }
+    }
+
+    public String formatReport() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%s on %d CPUs (%s queue%s)%n", algorithm, cpuCount, queueMode, cpuCount > 1 && queueMode.equals(PER_CPU_QUEUES) ? "s" : ""));
+        report.append(String.format("Average turnaround time: %.2f%n", getAverageTurnaroundTime()));
+        report.append(String.format("Average waiting time:    %.2f%n", getAverageWaitingTime()));
+        report.append(String.format("Makespan:                %d%n", makespan));
+        report.append(String.format("Steals: %d, migrations: %d%n", steals, migrations));
+        report.append(String.format("%-5s %14s %12s%n", "CPU", "Busy time", "Utilization"));
+        for (int cpu = 0; cpu < cpuCount; cpu++) {
+            report.append(String.format("%-5d %14d %11.1f%%%n", cpu, busyTimes[cpu], 100 * getUtilization(cpu)));
+        }
+        return report.toString();
+    }
+
+    public ProcessTable getProcessTable() {
+        return table;
+    }
+
+    public int getCpuCount() {
+        return cpuCount;
+    }
+
+    // Schedule of one CPU, including idle time
+    public Timeline getTimeline(int cpu) {
+        return lanes[cpu];
+    }
+
+    public long getBusyTime(int cpu) {
+        return busyTimes[cpu];
+    }
+
+    // Share of the makespan the CPU spent running processes
+    public double getUtilization(int cpu) {
+        return makespan == 0 ? 0 : (double) busyTimes[cpu] / makespan;
+    }
+
+    public long getMakespan() {
+        return makespan;
+    }
+
+    public long getSteals() {
+        return steals;
+    }
+
+    public long getMigrations() {
+        return migrations;
+    }
+
+    public long getTotalTurnaroundTime() {
+        return totalTurnaroundTime;
+    }
+
+    public double getAverageTurnaroundTime() {
+        return (double) totalTurnaroundTime / table.size();
+    }
+
+    public long getTotalWaitingTime() {
+        return totalWaitingTime;
+    }
+
+    public double getAverageWaitingTime() {
+        return (double) totalWaitingTime / table.size();
+    }
+
+    private static String requireValue(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException(args[index - 1] + " needs a value.");
+        }
+        return args[index];
+    }
+}
@@ -1,15 +1,18 @@
 public class Process {
     private String processID;
-    private int arrivalTime;
-    private int initialBurstTime;
-    private int remainingBurstTime;
-    private int completionTime;
-    private int turnaroundTime;
-    private int waitingTime;
+    private long arrivalTime;
+    private long initialBurstTime; // Total CPU time when the process does I/O
+    private BurstSequence bursts; // Null for a single CPU burst
+    private long blockedTime;
+    private long remainingBurstTime;
+    private long completionTime;
+    private long turnaroundTime;
+    private long waitingTime;
+    private long responseTime;
     private boolean isFinished;
     private int priority;
 
-    public Process(String processID, int arrivalTime, int initialBurstTime, int priority) {
+    public Process(String processID, long arrivalTime, long initialBurstTime, int priority) {
         this.processID = processID;
         this.arrivalTime = arrivalTime;
         this.initialBurstTime = initialBurstTime;
@@ -18,37 +21,66 @@ public class Process {
         this.completionTime = 0;
         this.turnaroundTime = 0;
         this.waitingTime = 0;
+        this.responseTime = 0;
         this.isFinished = false;
     }
 
+    // A process that alternates CPU and I/O bursts
+    public Process(String processID, long arrivalTime, BurstSequence bursts, int priority) {
+        this(processID, arrivalTime, bursts.getTotalCpuTime(), priority);
+        this.bursts = bursts.hasIO() ? bursts : null;
+    }
+
+    // Returns an unscheduled copy, so a run on the copy leaves this process untouched
+    public Process copy() {
+        Process copy = new Process(processID, arrivalTime, initialBurstTime, priority);
+        copy.bursts = bursts;
+        return copy;
+    }
+
     public String getProcessID() {
         return processID;
     }
 
-    public int getArrivalTime() {
+    public long getArrivalTime() {
         return arrivalTime;
     }
 
-    public int getInitialBurstTime() {
+    public long getInitialBurstTime() {
         return initialBurstTime;
     }
 
-    public int getRemainingBurstTime() {
+    public BurstSequence getBursts() {
+        return bursts;
+    }
+
+    public long getRemainingBurstTime() {
         return remainingBurstTime;
     }
 
-    public int getCompletionTime() {
+    public long getCompletionTime() {
         return completionTime;
     }
 
-    public int getTurnaroundTime() {
+    public long getTurnaroundTime() {
         return turnaroundTime;
     }
 
-    public int getWaitingTime() {
+    // Time spent ready but not running; time blocked on I/O does not count
+    public long getWaitingTime() {
         return waitingTime;
     }
 
+    // Time spent waiting for and using I/O devices
+    public long getBlockedTime() {
+        return blockedTime;
+    }
+
+    // Time from arrival until the process first gets the CPU
+    public long getResponseTime() {
+        return responseTime;
+    }
+
     public boolean isFinished() {
         return isFinished;
     }
@@ -57,12 +89,12 @@ public class Process {
         return priority;
     }
 
-    public void reduceRemainingBurstTime(int quantum) {
+    public void reduceRemainingBurstTime(long quantum) {
         remainingBurstTime -= quantum;
         if (remainingBurstTime < 0) remainingBurstTime = 0;
     }
 
-    public void setCompletionTime(int time) {
+    public void setCompletionTime(long time) {
         completionTime = time;
     }
 
@@ -70,8 +102,16 @@ public class Process {
         turnaroundTime = completionTime - arrivalTime;
     }
 
+    public void setBlockedTime(long time) {
+        blockedTime = time;
+    }
+
     public void calculateWaitingTime() {
-        waitingTime = turnaroundTime - initialBurstTime;
+        waitingTime = turnaroundTime - initialBurstTime - blockedTime;
+    }
+
+    public void calculateResponseTime(long firstRunTime) {
+        responseTime = firstRunTime - arrivalTime;
     }
 
     public void markAsFinished() {
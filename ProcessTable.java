@@ -0,0 +1,445 @@
+import java.util.Arrays;
+import java.util.List;
+
+// Struct-of-arrays process store for the scheduling engine.
+// A process is identified by its index; its ID string is stored once at load
+// time and every time field lives in a parallel column. Times are 64-bit, kept
+// compact by TimeColumn; completion and first run times are stored relative to
+// the arrival time, so they stay small however late the trace runs.
+// Processes with I/O (see BurstSequence) keep their I/O bursts in compressed rows;
+// for them the burst time is the total CPU time and the remaining burst time
+// covers only the current CPU burst.
+public class ProcessTable {
+    private String[] processIDs;
+    private TimeColumn arrivalTimes;
+    private TimeColumn burstTimes;
+    private TimeColumn remainingBurstTimes;
+    private int[] priorities;
+    private TimeColumn completionOffsets; // Turnaround time, -1 until the process completes
+    private TimeColumn firstRunOffsets; // Response time, -1 until the process first gets the CPU
+    private int size = 0;
+    private boolean sortedByArrival = true;
+    private ProcessIDSource processIDSource; // Supplies IDs that were not stored at load time
+    // Allocated when the first process with I/O is added. Process i's I/O bursts are
+    // ioStarts[i] to ioStarts[i + 1] - 1; I/O burst k keeps the process on device
+    // ioDevices[k] for ioTimes[k], after which it needs ioNextBursts[k] of CPU time.
+    private int[] ioStarts;
+    private int[] ioDevices;
+    private long[] ioTimes;
+    private long[] ioNextBursts;
+    private int ioCount = 0;
+    private int deviceCount = 0;
+    private int[] ioPositions; // I/O bursts each process has finished
+    private TimeColumn blockedTimes; // Time each process has spent waiting for and using devices
+
+    // Looks up a process ID on first use, so large tables can be loaded without
+    // creating a String per process up front
+    public interface ProcessIDSource {
+        String getProcessID(int index);
+    }
+
+    public ProcessTable(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 1);
+        processIDs = new String[capacity];
+        arrivalTimes = TimeColumn.forTimes(capacity);
+        burstTimes = TimeColumn.forDurations(capacity);
+        remainingBurstTimes = TimeColumn.forDurations(capacity);
+        priorities = new int[capacity];
+        completionOffsets = TimeColumn.forDurations(capacity);
+        firstRunOffsets = TimeColumn.forDurations(capacity);
+    }
+
+    private ProcessTable() {
+    }
+
+    // Unscheduled copy for an independent run. The input columns are shared with
+    // this table, so only the run state (remaining, completion, first run and I/O progress)
+    // is allocated again.
+    public ProcessTable copy() {
+        ProcessTable copy = new ProcessTable();
+        // Columns are trimmed to size, so adding to either table grows into new arrays
+        copy.processIDs = trim(processIDs);
+        copy.arrivalTimes = arrivalTimes.trim();
+        copy.burstTimes = burstTimes.trim();
+        copy.priorities = trim(priorities);
+        copy.remainingBurstTimes = burstTimes.copy();
+        copy.size = size;
+        if (ioStarts != null) {
+            copy.ioStarts = Arrays.copyOf(ioStarts, size + 1);
+            copy.ioDevices = ioDevices.length == ioCount ? ioDevices : Arrays.copyOf(ioDevices, ioCount);
+            copy.ioTimes = ioTimes.length == ioCount ? ioTimes : Arrays.copyOf(ioTimes, ioCount);
+            copy.ioNextBursts = ioNextBursts.length == ioCount ? ioNextBursts : Arrays.copyOf(ioNextBursts, ioCount);
+            copy.ioCount = ioCount;
+            copy.deviceCount = deviceCount;
+            copy.ioPositions = new int[size];
+            copy.blockedTimes = blockedTimes.copy();
+            copy.resetIOState();
+        }
+        copy.completionOffsets = completionOffsets.copy();
+        copy.completionOffsets.fill(-1);
+        copy.firstRunOffsets = firstRunOffsets.copy();
+        copy.firstRunOffsets.fill(-1);
+        copy.sortedByArrival = sortedByArrival;
+        copy.processIDSource = processIDSource;
+        return copy;
+    }
+
+    public static ProcessTable fromProcesses(List<Process> processes) {
+        ProcessTable table = new ProcessTable(processes.size());
+        for (Process process : processes) {
+            if (process.getBursts() != null) {
+                table.add(process.getProcessID(), process.getArrivalTime(), process.getBursts(), process.getPriority());
+            } else {
+                table.add(process.getProcessID(), process.getArrivalTime(), process.getInitialBurstTime(), process.getPriority());
+            }
+        }
+        return table;
+    }
+
+    // Returns the index of the new process. Negative times would be taken for the "not set"
+    // offsets of the completion and first run columns, so they are rejected.
+    public int add(String processID, long arrivalTime, long burstTime, int priority) {
+        if (arrivalTime < 0 || burstTime < 0) {
+            throw new IllegalArgumentException("Arrival and burst times must not be negative: " + processID);
+        }
+        if (size == processIDs.length) {
+            grow();
+        }
+        if (size > 0 && arrivalTime < arrivalTimes.get(size - 1)) {
+            sortedByArrival = false;
+        }
+        processIDs[size] = processID;
+        arrivalTimes.add(arrivalTime);
+        burstTimes.add(burstTime);
+        remainingBurstTimes.add(burstTime);
+        priorities[size] = priority;
+        completionOffsets.add(-1);
+        firstRunOffsets.add(-1);
+        if (ioStarts != null) {
+            ioStarts[size + 1] = ioCount;
+            ioPositions[size] = 0;
+            blockedTimes.add(0);
+        }
+        return size++;
+    }
+
+    // Adds a process that alternates CPU and I/O bursts; returns its index
+    public int add(String processID, long arrivalTime, BurstSequence bursts, int priority) {
+        if (!bursts.hasIO()) {
+            return add(processID, arrivalTime, bursts.getCpuBurst(0), priority);
+        }
+        if (ioStarts == null) {
+            enableIO();
+        }
+        int index = add(processID, arrivalTime, bursts.getTotalCpuTime(), priority);
+        remainingBurstTimes.set(index, bursts.getCpuBurst(0));
+        for (int burst = 0; burst < bursts.getIOBurstCount(); burst++) {
+            if (ioCount == ioTimes.length) {
+                int capacity = ioCount * 2;
+                ioDevices = Arrays.copyOf(ioDevices, capacity);
+                ioTimes = Arrays.copyOf(ioTimes, capacity);
+                ioNextBursts = Arrays.copyOf(ioNextBursts, capacity);
+            }
+            ioDevices[ioCount] = bursts.getIODevice(burst);
+            ioTimes[ioCount] = bursts.getIOTime(burst);
+            ioNextBursts[ioCount] = bursts.getCpuBurst(burst + 1);
+            deviceCount = Math.max(deviceCount, bursts.getIODevice(burst) + 1);
+            ioCount++;
+        }
+        ioStarts[index + 1] = ioCount;
+        return index;
+    }
+
+    // Every process added so far has no I/O bursts
+    private void enableIO() {
+        ioStarts = new int[processIDs.length + 1];
+        ioDevices = new int[16];
+        ioTimes = new long[16];
+        ioNextBursts = new long[16];
+        ioPositions = new int[processIDs.length];
+        blockedTimes = TimeColumn.forDurations(processIDs.length);
+        for (int i = 0; i < size; i++) {
+            blockedTimes.add(0);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String getProcessID(int index) {
+        String processID = processIDs[index];
+        if (processID == null && processIDSource != null) {
+            processID = processIDSource.getProcessID(index);
+            processIDs[index] = processID;
+        }
+        return processID;
+    }
+
+    // IDs of processes added with a null ID are fetched from the source when first needed
+    public void setProcessIDSource(ProcessIDSource processIDSource) {
+        this.processIDSource = processIDSource;
+    }
+
+    public long getArrivalTime(int index) {
+        return arrivalTimes.get(index);
+    }
+
+    public long getBurstTime(int index) {
+        return burstTimes.get(index);
+    }
+
+    public long getRemainingBurstTime(int index) {
+        return remainingBurstTimes.get(index);
+    }
+
+    public int getPriority(int index) {
+        return priorities[index];
+    }
+
+    // 0 if the process has not completed
+    public long getCompletionTime(int index) {
+        long offset = completionOffsets.get(index);
+        return offset < 0 ? 0 : arrivalTimes.get(index) + offset;
+    }
+
+    public long getTurnaroundTime(int index) {
+        return getCompletionTime(index) - arrivalTimes.get(index);
+    }
+
+    // Time spent ready but not running; time blocked on I/O does not count
+    public long getWaitingTime(int index) {
+        return getTurnaroundTime(index) - burstTimes.get(index) - getBlockedTime(index);
+    }
+
+    // -1 if the process has not run yet
+    public long getFirstRunTime(int index) {
+        long offset = firstRunOffsets.get(index);
+        return offset < 0 ? -1 : arrivalTimes.get(index) + offset;
+    }
+
+    public long getResponseTime(int index) {
+        return getFirstRunTime(index) - arrivalTimes.get(index);
+    }
+
+    public void reduceRemainingBurstTime(int index, long amount) {
+        remainingBurstTimes.set(index, Math.max(remainingBurstTimes.get(index) - amount, 0));
+    }
+
+    public boolean hasIO() {
+        return ioStarts != null;
+    }
+
+    // Devices are numbered from 0, so this is one more than the highest device used
+    public int getDeviceCount() {
+        return deviceCount;
+    }
+
+    public int getIOBurstCount(int index) {
+        return ioStarts == null ? 0 : ioStarts[index + 1] - ioStarts[index];
+    }
+
+    public int getIODevice(int index, int burst) {
+        return ioDevices[ioStarts[index] + burst];
+    }
+
+    public long getIOTime(int index, int burst) {
+        return ioTimes[ioStarts[index] + burst];
+    }
+
+    // The process's CPU and I/O bursts, or null if it has a single CPU burst
+    public BurstSequence getBursts(int index) {
+        int ioBurstCount = getIOBurstCount(index);
+        if (ioBurstCount == 0) {
+            return null;
+        }
+        int start = ioStarts[index];
+        long[] cpuBursts = new long[ioBurstCount + 1];
+        cpuBursts[0] = getFirstCpuBurst(index);
+        System.arraycopy(ioNextBursts, start, cpuBursts, 1, ioBurstCount);
+        return new BurstSequence(cpuBursts, Arrays.copyOfRange(ioDevices, start, start + ioBurstCount),
+            Arrays.copyOfRange(ioTimes, start, start + ioBurstCount));
+    }
+
+    // Whether the process blocks for I/O once its current CPU burst is done
+    public boolean hasPendingIO(int index) {
+        return ioStarts != null && ioStarts[index] + ioPositions[index] < ioStarts[index + 1];
+    }
+
+    public int getPendingIODevice(int index) {
+        return ioDevices[ioStarts[index] + ioPositions[index]];
+    }
+
+    public long getPendingIOTime(int index) {
+        return ioTimes[ioStarts[index] + ioPositions[index]];
+    }
+
+    // Ends the pending I/O burst; the next CPU burst becomes the remaining burst time
+    public void finishIOBurst(int index, long blockedTime) {
+        int burst = ioStarts[index] + ioPositions[index]++;
+        remainingBurstTimes.set(index, ioNextBursts[burst]);
+        blockedTimes.set(index, blockedTimes.get(index) + blockedTime);
+    }
+
+    // Time the process spent blocked, from each I/O request until its device finished it
+    public long getBlockedTime(int index) {
+        return blockedTimes == null ? 0 : blockedTimes.get(index);
+    }
+
+    public void setCompletionTime(int index, long time) {
+        completionOffsets.set(index, time - arrivalTimes.get(index));
+    }
+
+    // Keeps the earliest time, so it can be called for every slice
+    public void recordFirstRun(int index, long time) {
+        if (firstRunOffsets.get(index) < 0) {
+            firstRunOffsets.set(index, time - arrivalTimes.get(index));
+        }
+    }
+
+    // Restores every process to its unscheduled state so the table can be run again
+    public void reset() {
+        for (int i = 0; i < size; i++) {
+            remainingBurstTimes.set(i, burstTimes.get(i));
+        }
+        if (ioStarts != null) {
+            resetIOState();
+        }
+        completionOffsets.fill(-1);
+        firstRunOffsets.fill(-1);
+    }
+
+    // Processes with I/O start on their first CPU burst, having done no I/O yet
+    private void resetIOState() {
+        Arrays.fill(ioPositions, 0);
+        blockedTimes.fill(0);
+        for (int i = 0; i < size; i++) {
+            if (ioStarts[i + 1] > ioStarts[i]) {
+                remainingBurstTimes.set(i, getFirstCpuBurst(i));
+            }
+        }
+    }
+
+    private long getFirstCpuBurst(int index) {
+        long firstBurst = burstTimes.get(index);
+        for (int burst = ioStarts[index]; burst < ioStarts[index + 1]; burst++) {
+            firstBurst -= ioNextBursts[burst];
+        }
+        return firstBurst;
+    }
+
+    // Stable sort by arrival time. Process indices change, so look processes up again afterwards.
+    public void sortByArrival() {
+        if (sortedByArrival) {
+            return;
+        }
+
+        // The ID source is indexed by load order, so resolve every ID before indices move
+        if (processIDSource != null) {
+            for (int i = 0; i < size; i++) {
+                getProcessID(i);
+            }
+            processIDSource = null;
+        }
+
+        long earliest = Long.MAX_VALUE;
+        long latest = Long.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            earliest = Math.min(earliest, arrivalTimes.get(i));
+            latest = Math.max(latest, arrivalTimes.get(i));
+        }
+
+        int[] permutation = new int[size];
+        if (latest - earliest >= 0 && latest - earliest <= Integer.MAX_VALUE) {
+            // Pack (arrival, index) so a primitive sort is stable on arrival
+            long[] order = new long[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = ((arrivalTimes.get(i) - earliest) << 32) | i;
+            }
+            Arrays.sort(order);
+            for (int i = 0; i < size; i++) {
+                permutation[i] = (int) order[i];
+            }
+        } else {
+            // Arrivals too far apart to pack; the object sort is stable too
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (x, y) -> Long.compare(arrivalTimes.get(x), arrivalTimes.get(y)));
+            for (int i = 0; i < size; i++) {
+                permutation[i] = order[i];
+            }
+        }
+        processIDs = permute(processIDs, permutation);
+        arrivalTimes = arrivalTimes.permute(permutation);
+        burstTimes = burstTimes.permute(permutation);
+        remainingBurstTimes = remainingBurstTimes.permute(permutation);
+        priorities = permute(priorities, permutation);
+        completionOffsets = completionOffsets.permute(permutation);
+        firstRunOffsets = firstRunOffsets.permute(permutation);
+        if (ioStarts != null) {
+            permuteIO(permutation);
+        }
+        sortedByArrival = true;
+    }
+
+    // Rebuilds the I/O rows in the new process order
+    private void permuteIO(int[] permutation) {
+        int[] starts = new int[ioStarts.length];
+        int[] devices = new int[ioDevices.length];
+        long[] times = new long[ioTimes.length];
+        long[] nextBursts = new long[ioNextBursts.length];
+        int next = 0;
+        for (int i = 0; i < size; i++) {
+            int from = ioStarts[permutation[i]];
+            int count = ioStarts[permutation[i] + 1] - from;
+            starts[i] = next;
+            System.arraycopy(ioDevices, from, devices, next, count);
+            System.arraycopy(ioTimes, from, times, next, count);
+            System.arraycopy(ioNextBursts, from, nextBursts, next, count);
+            next += count;
+        }
+        starts[size] = next;
+        ioStarts = starts;
+        ioDevices = devices;
+        ioTimes = times;
+        ioNextBursts = nextBursts;
+        ioPositions = permute(ioPositions, permutation);
+        blockedTimes = blockedTimes.permute(permutation);
+    }
+
+    private int[] trim(int[] values) {
+        return values.length == size ? values : Arrays.copyOf(values, size);
+    }
+
+    private String[] trim(String[] values) {
+        return values.length == size ? values : Arrays.copyOf(values, size);
+    }
+
+    private int[] permute(int[] values, int[] permutation) {
+        int[] result = new int[values.length];
+        for (int i = 0; i < size; i++) {
+            result[i] = values[permutation[i]];
+        }
+        return result;
+    }
+
+    private String[] permute(String[] values, int[] permutation) {
+        String[] result = new String[values.length];
+        for (int i = 0; i < size; i++) {
+            result[i] = values[permutation[i]];
+        }
+        return result;
+    }
+
+    private void grow() {
+        int capacity = Math.max(processIDs.length * 2, 16);
+        processIDs = Arrays.copyOf(processIDs, capacity);
+        priorities = Arrays.copyOf(priorities, capacity);
+        if (ioStarts != null) {
+            ioStarts = Arrays.copyOf(ioStarts, capacity + 1);
+            ioPositions = Arrays.copyOf(ioPositions, capacity);
+        }
+    }
+}
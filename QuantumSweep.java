@@ -0,0 +1,146 @@
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Runs Round Robin once per time quantum in a range, in parallel on a fork-join pool,
+// and reports average turnaround, waiting and response time plus the number of
+// context switches for each quantum.
+//
+// The input is sorted by arrival once. Every run schedules a copy that shares the
+// sorted input columns, so nothing is re-sorted or re-parsed per quantum.
+//
+// An optional context switch time is charged on every switch, which is what makes
+// very small quanta expensive.
+//
+// Usage: java QuantumSweep <trace> <from quantum> <to quantum> [step] [switch time]
+public class QuantumSweep {
+    private static final int SEQUENTIAL_THRESHOLD = 1; // Each run is large enough to be its own task
+    public static final int MAX_RUNS = 10_000;
+
+    public static void main(String[] args) {
+        if (args.length < 3 || args.length > 5) {
+            System.err.println("Usage: java QuantumSweep <trace> <from quantum> <to quantum> [step] [switch time]");
+            System.exit(2);
+        }
+        try {
+            ProcessTable table = TraceLoader.load(Paths.get(args[0]));
+            int step = args.length >= 4 ? Integer.parseInt(args[3]) : 1;
+            int contextSwitchTime = args.length == 5 ? Integer.parseInt(args[4]) : 0;
+            List<Result> results = run(table, Integer.parseInt(args[1]), Integer.parseInt(args[2]), step, contextSwitchTime,
+                ForkJoinPool.commonPool());
+            System.out.println("quantum,averageTurnaroundTime,averageWaitingTime,averageResponseTime,contextSwitches");
+            for (Result result : results) {
+                System.out.println(String.format(Locale.ROOT, "%d,%.2f,%.2f,%.2f,%d", result.quantumTime, result.averageTurnaroundTime,
+                    result.averageWaitingTime, result.averageResponseTime, result.contextSwitches));
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    public static List<Result> run(ProcessTable table, int fromQuantum, int toQuantum, int step) {
+        return run(table, fromQuantum, toQuantum, step, ForkJoinPool.commonPool());
+    }
+
+    public static List<Result> run(ProcessTable table, int fromQuantum, int toQuantum, int step, ForkJoinPool pool) {
+        return run(table, fromQuantum, toQuantum, step, 0, pool);
+    }
+
+    public static List<Result> run(ProcessTable table, int fromQuantum, int toQuantum, int step, int contextSwitchTime,
+            ForkJoinPool pool) {
+        if (fromQuantum <= 0 || toQuantum < fromQuantum) {
+            throw new IllegalArgumentException("Quantum range must be positive and increasing.");
+        }
+        if (step <= 0) {
+            throw new IllegalArgumentException("Quantum step must be positive.");
+        }
+        // In long, since the span of a wide range does not fit in an int
+        long runCount = ((long) toQuantum - fromQuantum) / step + 1;
+        if (runCount > MAX_RUNS) {
+            throw new IllegalArgumentException("A sweep is limited to " + MAX_RUNS + " quanta, this range has " + runCount
+                + "; use a larger step.");
+        }
+        if (contextSwitchTime < 0) {
+            throw new IllegalArgumentException("Context switch time must not be negative.");
+        }
+        if (table.size() == 0) {
+            throw new IllegalArgumentException("There are no processes to schedule.");
+        }
+        // Sort once up front; the snapshot is only ever copied from after this
+        table.sortByArrival();
+        ProcessTable snapshot = table.copy();
+
+        int[] quanta = new int[(int) runCount];
+        for (int i = 0; i < quanta.length; i++) {
+            quanta[i] = (int) (fromQuantum + (long) i * step); // At most toQuantum
+        }
+        Result[] results = new Result[quanta.length];
+        pool.invoke(new SweepTask(snapshot, quanta, contextSwitchTime, results, 0, quanta.length));
+        return Arrays.asList(results);
+    }
+
+    private static Result runQuantum(ProcessTable snapshot, int quantumTime, int contextSwitchTime) {
+        Controller controller = new Controller(snapshot.copy(), quantumTime);
+        controller.setContextSwitchTime(contextSwitchTime);
+        // The controller keeps every metric needed here, so the slices are dropped
+        controller.setScheduleSink((processIndex, startTime, duration) -> { });
+        controller.executeRoundRobin();
+
+        return new Result(quantumTime, controller.getAverageTurnaroundTime(), controller.getAverageWaitingTime(),
+            controller.getAverageResponseTime(), controller.getContextSwitchCount());
+    }
+
+    public static class Result {
+        public final int quantumTime;
+        public final double averageTurnaroundTime;
+        public final double averageWaitingTime;
+        public final double averageResponseTime;
+        public final long contextSwitches;
+
+        Result(int quantumTime, double averageTurnaroundTime, double averageWaitingTime, double averageResponseTime, long contextSwitches) {
+            this.quantumTime = quantumTime;
+            this.averageTurnaroundTime = averageTurnaroundTime;
+            this.averageWaitingTime = averageWaitingTime;
+            this.averageResponseTime = averageResponseTime;
+            this.contextSwitches = contextSwitches;
+        }
+    }
+
+    // Splits the quantum range in half until each task holds a single run
+    @SuppressWarnings("serial") // Tasks are never serialized
+    private static class SweepTask extends RecursiveAction {
+        private final ProcessTable snapshot;
+        private final int[] quanta;
+        private final int contextSwitchTime;
+        private final Result[] results;
+        private final int from;
+        private final int to;
+
+        SweepTask(ProcessTable snapshot, int[] quanta, int contextSwitchTime, Result[] results, int from, int to) {
+            this.snapshot = snapshot;
+            this.quanta = quanta;
+            this.contextSwitchTime = contextSwitchTime;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    results[i] = runQuantum(snapshot, quanta[i], contextSwitchTime);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new SweepTask(snapshot, quanta, contextSwitchTime, results, from, middle),
+                new SweepTask(snapshot, quanta, contextSwitchTime, results, middle, to));
+        }
+    }
+}
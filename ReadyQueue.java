@@ -0,0 +1,94 @@
+import java.util.Arrays;
+
+// Binary min-heap of process indices ordered by (key, index).
+// Indices refer to the arrival-sorted process list, so ties on the key
+// fall back to the earlier arrival, the same as the old linear scans.
+public class ReadyQueue {
+    private int[] indices;
+    private long[] keys;
+    private int size = 0;
+
+    public ReadyQueue(int initialCapacity) {
+        indices = new int[Math.max(initialCapacity, 1)];
+        keys = new long[indices.length];
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void add(int index, long key) {
+        if (size == indices.length) {
+            indices = Arrays.copyOf(indices, size * 2);
+            keys = Arrays.copyOf(keys, size * 2);
+        }
+        siftUp(size++, index, key);
+    }
+
+    public int peek() {
+        return indices[0];
+    }
+
+    public long peekKey() {
+        return keys[0];
+    }
+
+    public int poll() {
+        int head = indices[0];
+        size--;
+        if (size > 0) {
+            siftDown(0, indices[size], keys[size]);
+        }
+        return head;
+    }
+
+    // True if the head of the queue should run ahead of the given process
+    public boolean headPrecedes(int index, long key) {
+        return size > 0 && precedes(indices[0], keys[0], index, key);
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    private static boolean precedes(int indexA, long keyA, int indexB, long keyB) {
+        return keyA < keyB || (keyA == keyB && indexA < indexB);
+    }
+
+    private void siftUp(int position, int index, long key) {
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!precedes(index, key, indices[parent], keys[parent])) {
+                break;
+            }
+            indices[position] = indices[parent];
+            keys[position] = keys[parent];
+            position = parent;
+        }
+        indices[position] = index;
+        keys[position] = key;
+    }
+
+    private void siftDown(int position, int index, long key) {
+        int half = size >>> 1;
+        while (position < half) {
+            int child = 2 * position + 1;
+            int right = child + 1;
+            if (right < size && precedes(indices[right], keys[right], indices[child], keys[child])) {
+                child = right;
+            }
+            if (!precedes(indices[child], keys[child], index, key)) {
+                break;
+            }
+            indices[position] = indices[child];
+            keys[position] = keys[child];
+            position = child;
+        }
+        indices[position] = index;
+        keys[position] = key;
+    }
+}
@@ -0,0 +1,17 @@
+// Receives a schedule from Controller while the algorithm runs, so it can be
+// written out or aggregated without keeping every slice in memory.
+// Slices arrive in time order, already merged with any adjacent slice of the
+// same process. Process indices refer to the table passed to onStart.
+public interface ScheduleSink {
+    default void onStart(ProcessTable table) {
+    }
+
+    // processIndex is Timeline.IDLE for idle CPU time and Timeline.CONTEXT_SWITCH for switch overhead
+    void onSlice(int processIndex, long startTime, long duration);
+
+    default void onCompletion(int processIndex, long completionTime) {
+    }
+
+    default void onFinish() {
+    }
+}
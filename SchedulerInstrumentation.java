@@ -0,0 +1,246 @@
+import java.lang.management.ManagementFactory;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+// Optional instrumentation of Controller runs. Every run's statistics are committed as a
+// Flight Recorder event when a recording has it enabled (e.g. java -XX:StartFlightRecording),
+// and added to a JMX MBean once registerMBean() has been called. With neither, Controller
+// skips counting decisions, so the hot loops only test a flag.
+public final class SchedulerInstrumentation {
+    public static final String OBJECT_NAME = "OSSchedulingCalculator:type=Scheduler";
+
+    private static final Statistics STATISTICS = new Statistics();
+    private static volatile boolean mbeanRegistered = false;
+
+    private SchedulerInstrumentation() {
+    }
+
+    // Registers the MBean with the platform MBean server, so JConsole or any JMX client
+    // can watch the totals; later calls do nothing
+    public static synchronized void registerMBean() {
+        if (mbeanRegistered) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(STATISTICS, new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not register the scheduler MBean: " + e.getMessage(), e);
+        }
+        mbeanRegistered = true;
+    }
+
+    // Totals over every run recorded since the MBean was registered or last reset
+    public static StatisticsMXBean getStatistics() {
+        return STATISTICS;
+    }
+
+    // Whether a run that began the given event should count its decisions
+    static boolean isEnabled(RunEvent event) {
+        return mbeanRegistered || event.isEnabled();
+    }
+
+    // Called by Controller when a run finishes; the event was begun when the run started
+    static void record(RunEvent event, Controller.RunStatistics run) {
+        if (event.shouldCommit()) {
+            event.algorithm = run.algorithm;
+            event.processCount = run.processCount;
+            event.decisions = run.decisionCount;
+            event.contextSwitches = run.contextSwitchCount;
+            event.averageReadyQueueLength = run.getAverageReadyQueueLength();
+            event.maximumReadyQueueLength = run.maximumReadyQueueLength;
+            event.idleTime = run.idleTime;
+            event.loadDuration = run.loadNanos;
+            event.scheduleDuration = run.scheduleNanos;
+            event.metricsDuration = run.metricsNanos;
+            event.commit();
+        }
+        if (mbeanRegistered) {
+            STATISTICS.add(run);
+        }
+    }
+
+    @Name("scheduler.Run")
+    @Label("Scheduling Run")
+    @Category("Scheduler")
+    @Description("One Controller run, from loading the processes to the finished metrics")
+    @StackTrace(false)
+    public static class RunEvent extends Event {
+        @Label("Algorithm")
+        String algorithm;
+
+        @Label("Processes")
+        int processCount;
+
+        @Label("Scheduling Decisions")
+        @Description("Times a process was picked from the ready queue")
+        long decisions;
+
+        @Label("Context Switches")
+        @Description("Times the CPU went straight from one process to another")
+        long contextSwitches;
+
+        @Label("Average Ready Queue Length")
+        @Description("Ready queue length sampled at each scheduling decision")
+        double averageReadyQueueLength;
+
+        @Label("Maximum Ready Queue Length")
+        int maximumReadyQueueLength;
+
+        @Label("Idle Time")
+        @Description("Simulated time the CPU was idle, in trace time units")
+        long idleTime;
+
+        @Label("Load Duration")
+        @Timespan(Timespan.NANOSECONDS)
+        long loadDuration;
+
+        @Label("Schedule Duration")
+        @Timespan(Timespan.NANOSECONDS)
+        long scheduleDuration;
+
+        @Label("Metrics Duration")
+        @Timespan(Timespan.NANOSECONDS)
+        long metricsDuration;
+    }
+
+    // Wall times are in milliseconds; idle time is in trace time units
+    public interface StatisticsMXBean {
+        long getRunCount();
+
+        long getProcessCount();
+
+        long getDecisionCount();
+
+        long getContextSwitchCount();
+
+        double getAverageReadyQueueLength();
+
+        int getMaximumReadyQueueLength();
+
+        long getIdleTime();
+
+        double getLoadTime();
+
+        double getScheduleTime();
+
+        double getMetricsTime();
+
+        // Scheduling decisions per second of schedule phase wall time
+        double getDecisionRate();
+
+        String getLastAlgorithm();
+
+        void reset();
+    }
+
+    private static class Statistics implements StatisticsMXBean {
+        private long runCount;
+        private long processCount;
+        private long decisionCount;
+        private long contextSwitchCount;
+        private long readyQueueLengthTotal;
+        private int maximumReadyQueueLength;
+        private long idleTime;
+        private long loadNanos;
+        private long scheduleNanos;
+        private long metricsNanos;
+        private String lastAlgorithm = "";
+
+        // Runs may finish on several threads at once, e.g. in QuantumSweep
+        synchronized void add(Controller.RunStatistics run) {
+            runCount++;
+            processCount += run.processCount;
+            decisionCount += run.decisionCount;
+            contextSwitchCount += run.contextSwitchCount;
+            readyQueueLengthTotal += run.readyQueueLengthTotal;
+            maximumReadyQueueLength = Math.max(maximumReadyQueueLength, run.maximumReadyQueueLength);
+            idleTime += run.idleTime;
+            loadNanos += run.loadNanos;
+            scheduleNanos += run.scheduleNanos;
+            metricsNanos += run.metricsNanos;
+            lastAlgorithm = run.algorithm;
+        }
+
+        @Override
+        public synchronized long getRunCount() {
+            return runCount;
+        }
+
+        @Override
+        public synchronized long getProcessCount() {
+            return processCount;
+        }
+
+        @Override
+        public synchronized long getDecisionCount() {
+            return decisionCount;
+        }
+
+        @Override
+        public synchronized long getContextSwitchCount() {
+            return contextSwitchCount;
+        }
+
+        @Override
+        public synchronized double getAverageReadyQueueLength() {
+            return decisionCount == 0 ? 0.0 : (double) readyQueueLengthTotal / decisionCount;
+        }
+
+        @Override
+        public synchronized int getMaximumReadyQueueLength() {
+            return maximumReadyQueueLength;
+        }
+
+        @Override
+        public synchronized long getIdleTime() {
+            return idleTime;
+        }
+
+        @Override
+        public synchronized double getLoadTime() {
+            return loadNanos / 1e6;
+        }
+
+        @Override
+        public synchronized double getScheduleTime() {
+            return scheduleNanos / 1e6;
+        }
+
+        @Override
+        public synchronized double getMetricsTime() {
+            return metricsNanos / 1e6;
+        }
+
+        @Override
+        public synchronized double getDecisionRate() {
+            return scheduleNanos == 0 ? 0.0 : decisionCount * 1e9 / scheduleNanos;
+        }
+
+        @Override
+        public synchronized String getLastAlgorithm() {
+            return lastAlgorithm;
+        }
+
+        @Override
+        public synchronized void reset() {
+            runCount = 0;
+            processCount = 0;
+            decisionCount = 0;
+            contextSwitchCount = 0;
+            readyQueueLengthTotal = 0;
+            maximumReadyQueueLength = 0;
+            idleTime = 0;
+            loadNanos = 0;
+            scheduleNanos = 0;
+            metricsNanos = 0;
+            lastAlgorithm = "";
+        }
+    }
+}
@@ -0,0 +1,153 @@
+import java.util.Arrays;
+
+// Growable column of 64-bit times stored in about half the space of a long[].
+// A time column keeps int offsets from a long base shared by each block of 64 entries,
+// where the base is the first value appended to the block. Times that are appended
+// in order, like sorted arrivals or timeline starts, stay small relative to their
+// block however large they are in absolute terms. A duration column leaves its bases
+// at zero and keeps the values themselves as ints. If a value ever falls outside the
+// int range, the column switches to a plain long[] for good.
+public class TimeColumn {
+    private static final int BLOCK_SHIFT = 6;
+    private static final int BLOCK_MASK = (1 << BLOCK_SHIFT) - 1;
+
+    private long[] bases;
+    private int[] offsets;
+    private long[] wideValues; // Replaces bases and offsets once a value does not fit
+    private boolean blockBases; // False for a duration column
+    private int size = 0;
+
+    private TimeColumn() {
+    }
+
+    // For times that mostly increase with the index, like arrival or start times
+    public static TimeColumn forTimes(int initialCapacity) {
+        TimeColumn column = forDurations(initialCapacity);
+        column.blockBases = true;
+        return column;
+    }
+
+    // For values that are small on their own, like burst times or times relative to arrival
+    public static TimeColumn forDurations(int initialCapacity) {
+        TimeColumn column = new TimeColumn();
+        column.offsets = new int[Math.max(initialCapacity, 1)];
+        column.bases = new long[blockCount(column.offsets.length)];
+        return column;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long get(int index) {
+        if (wideValues != null) {
+            return wideValues[index];
+        }
+        return bases[index >>> BLOCK_SHIFT] + offsets[index];
+    }
+
+    public void add(long value) {
+        if (size == capacity()) {
+            grow();
+        }
+        int index = size++;
+        if (blockBases && wideValues == null && (index & BLOCK_MASK) == 0) {
+            bases[index >>> BLOCK_SHIFT] = value;
+            offsets[index] = 0;
+            return;
+        }
+        set(index, value);
+    }
+
+    public void set(int index, long value) {
+        if (wideValues == null) {
+            long offset = value - bases[index >>> BLOCK_SHIFT];
+            if (offset == (int) offset) {
+                offsets[index] = (int) offset;
+                return;
+            }
+            widen();
+        }
+        wideValues[index] = value;
+    }
+
+    public void fill(long value) {
+        for (int i = 0; i < size; i++) {
+            set(i, value);
+        }
+    }
+
+    // Independent copy trimmed to the size, so adding to either column never affects the other
+    public TimeColumn copy() {
+        TimeColumn copy = new TimeColumn();
+        copy.size = size;
+        copy.blockBases = blockBases;
+        if (wideValues != null) {
+            copy.wideValues = Arrays.copyOf(wideValues, size);
+        } else {
+            copy.offsets = Arrays.copyOf(offsets, Math.max(size, 1));
+            copy.bases = Arrays.copyOf(bases, blockCount(copy.offsets.length));
+        }
+        return copy;
+    }
+
+    // Column over the same values that shares the storage when it is already trimmed to the
+    // size. Only for columns that are no longer set: adding grows into new arrays, but set()
+    // would write through to both.
+    public TimeColumn trim() {
+        if (capacity() != size) {
+            return copy();
+        }
+        TimeColumn trimmed = new TimeColumn();
+        trimmed.size = size;
+        trimmed.blockBases = blockBases;
+        trimmed.bases = bases;
+        trimmed.offsets = offsets;
+        trimmed.wideValues = wideValues;
+        return trimmed;
+    }
+
+    // New column holding this column's values in the given order
+    public TimeColumn permute(int[] permutation) {
+        TimeColumn result = new TimeColumn();
+        result.blockBases = blockBases;
+        if (wideValues != null) {
+            result.wideValues = new long[wideValues.length];
+        } else {
+            result.offsets = new int[offsets.length];
+            result.bases = new long[bases.length];
+        }
+        for (int i = 0; i < size; i++) {
+            result.add(get(permutation[i]));
+        }
+        return result;
+    }
+
+    private int capacity() {
+        return wideValues != null ? wideValues.length : offsets.length;
+    }
+
+    private void widen() {
+        long[] values = new long[offsets.length];
+        for (int i = 0; i < size; i++) {
+            values[i] = get(i);
+        }
+        wideValues = values;
+        bases = null;
+        offsets = null;
+    }
+
+    private void grow() {
+        int capacity = Math.max(capacity() * 2, 16);
+        if (wideValues != null) {
+            wideValues = Arrays.copyOf(wideValues, capacity);
+        } else {
+            offsets = Arrays.copyOf(offsets, capacity);
+            bases = Arrays.copyOf(bases, blockCount(capacity));
+        }
+    }
+
+    private static int blockCount(int capacity) {
+        return (capacity + BLOCK_MASK) >>> BLOCK_SHIFT;
+    }
+}
@@ -0,0 +1,135 @@
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// Compact Gantt chart timeline stored as parallel primitive columns of
+// (process index, start time, duration). Appending a slice that continues the
+// previous slice of the same process extends it instead of adding a new one.
+// Times are 64-bit TimeColumns: start times are appended in order, so they stay
+// small offsets from their block, and durations stay ints unless one does not fit.
+// This is the in-memory ScheduleSink that Controller uses by default.
+public class Timeline implements Iterable<Controller.GanttChartEntry>, ScheduleSink {
+    public static final int IDLE = -1; // Process index used for idle CPU time
+    public static final int CONTEXT_SWITCH = -2; // Process index used for time spent switching processes
+
+    private final ProcessTable table;
+    private int[] processIndices = new int[16];
+    private final TimeColumn startTimes = TimeColumn.forTimes(16);
+    private final TimeColumn durations = TimeColumn.forDurations(16);
+    private int size = 0;
+    private long endTime = 0; // End of the last entry
+
+    public Timeline(ProcessTable table) {
+        this.table = table;
+    }
+
+    public void append(int processIndex, long startTime, long duration) {
+        if (duration == 0) {
+            return;
+        }
+        int last = size - 1;
+        // Adjacent slices of a process merge, but every context switch keeps its own entry
+        if (last >= 0 && processIndices[last] == processIndex && processIndex != CONTEXT_SWITCH && endTime == startTime) {
+            durations.set(last, durations.get(last) + duration);
+            endTime += duration;
+            return;
+        }
+        if (size == processIndices.length) {
+            grow();
+        }
+        processIndices[size] = processIndex;
+        startTimes.add(startTime);
+        durations.add(duration);
+        size++;
+        endTime = startTime + duration;
+    }
+
+    @Override
+    public void onSlice(int processIndex, long startTime, long duration) {
+        append(processIndex, startTime, duration);
+    }
+
+    public ProcessTable getProcessTable() {
+        return table;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int getProcessIndex(int entry) {
+        return processIndices[entry];
+    }
+
+    public String getProcessID(int entry) {
+        return getProcessID(table, processIndices[entry]);
+    }
+
+    // Process ID for a timeline process index, or "IDLE" / "CS" for idle and context switch time
+    public static String getProcessID(ProcessTable table, int processIndex) {
+        return switch (processIndex) {
+            case IDLE -> Controller.GanttChartEntry.IDLE_ID;
+            case CONTEXT_SWITCH -> Controller.GanttChartEntry.CONTEXT_SWITCH_ID;
+            default -> table.getProcessID(processIndex);
+        };
+    }
+
+    public long getStartTime(int entry) {
+        return startTimes.get(entry);
+    }
+
+    public long getDuration(int entry) {
+        return durations.get(entry);
+    }
+
+    public long getEndTime() {
+        return endTime;
+    }
+
+    // Index of the entry running at the given time, clamped to the first and last entries
+    public int findEntry(long time) {
+        int low = 0;
+        int high = size - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (startTimes.get(middle) <= time) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    // Entries are created on demand, so only consumers that need objects pay for them
+    @Override
+    public Iterator<Controller.GanttChartEntry> iterator() {
+        return new Iterator<>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public Controller.GanttChartEntry next() {
+                if (next >= size) {
+                    throw new NoSuchElementException();
+                }
+                Controller.GanttChartEntry entry = new Controller.GanttChartEntry(getProcessID(next), startTimes.get(next), durations.get(next));
+                next++;
+                return entry;
+            }
+        };
+    }
+
+    private void grow() {
+        int capacity = processIndices.length * 2;
+        processIndices = Arrays.copyOf(processIndices, capacity);
+    }
+}
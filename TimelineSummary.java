@@ -0,0 +1,200 @@
+import java.util.Arrays;
+
+// Multi-resolution summary of a Timeline for drawing it zoomed out.
+//
+// Level 0 splits the schedule into equal buckets whose width is a power of two,
+// chosen so there are about half as many buckets as timeline entries. Every
+// level above merges pairs of buckets from the level below, up to a single
+// bucket. Each bucket keeps its busy time, its context switch time and the process
+// that ran longest in it (exact on level 0, taken from the larger child on the
+// levels above), so a view can draw any zoom level with one bucket per pixel or so.
+public class TimelineSummary {
+    private final long originTime;
+    private final long endTime;
+    private final int baseShift; // Level 0 buckets are 1 << baseShift time units wide
+    private final int[][] dominantProcesses;
+    private final long[][] dominantTimes;
+    private final long[][] busyTimes;
+    private final long[][] switchTimes;
+
+    public TimelineSummary(Timeline timeline) {
+        originTime = timeline.isEmpty() ? 0 : timeline.getStartTime(0);
+        endTime = timeline.getEndTime();
+        long span = Math.max(endTime - originTime, 1);
+        long targetBuckets = Math.max(timeline.size() / 2, 1);
+        int shift = 0;
+        while ((span - 1 >> shift) + 1 > targetBuckets) {
+            shift++;
+        }
+        baseShift = shift;
+
+        int levels = 1;
+        for (long buckets = (span - 1 >> shift) + 1; buckets > 1; buckets = (buckets + 1) / 2) {
+            levels++;
+        }
+        dominantProcesses = new int[levels][];
+        dominantTimes = new long[levels][];
+        busyTimes = new long[levels][];
+        switchTimes = new long[levels][];
+        buildBaseLevel(timeline, (int) ((span - 1 >> shift) + 1));
+        for (int level = 1; level < levels; level++) {
+            mergeLevel(level);
+        }
+    }
+
+    // Sums each process's time per bucket, touching only the processes seen in that bucket
+    private void buildBaseLevel(Timeline timeline, int bucketCount) {
+        int[] dominant = new int[bucketCount];
+        long[] dominantTime = new long[bucketCount];
+        long[] busy = new long[bucketCount];
+        long[] switching = new long[bucketCount];
+        long[] timeByProcess = new long[timeline.getProcessTable().size()];
+        int[] touched = new int[16];
+        int touchedCount = 0;
+        int bucket = 0;
+
+        for (int entry = 0; entry < timeline.size(); entry++) {
+            int process = timeline.getProcessIndex(entry);
+            long start = timeline.getStartTime(entry) - originTime;
+            long end = start + timeline.getDuration(entry);
+            while (start < end) {
+                int entryBucket = (int) (start >> baseShift);
+                if (entryBucket != bucket) {
+                    finishBucket(bucket, timeByProcess, touched, touchedCount, dominant, dominantTime, busy, switching);
+                    touchedCount = 0;
+                    bucket = entryBucket;
+                }
+                long bucketEnd = (long) (bucket + 1) << baseShift;
+                long overlap = Math.min(end, bucketEnd) - start;
+                if (process >= 0) {
+                    if (timeByProcess[process] == 0) {
+                        if (touchedCount == touched.length) {
+                            touched = Arrays.copyOf(touched, touchedCount * 2);
+                        }
+                        touched[touchedCount++] = process;
+                    }
+                    timeByProcess[process] += overlap;
+                } else if (process == Timeline.CONTEXT_SWITCH) {
+                    switching[bucket] += overlap;
+                }
+                start += overlap;
+            }
+        }
+        finishBucket(bucket, timeByProcess, touched, touchedCount, dominant, dominantTime, busy, switching);
+
+        dominantProcesses[0] = dominant;
+        dominantTimes[0] = dominantTime;
+        busyTimes[0] = busy;
+        switchTimes[0] = switching;
+    }
+
+    private static void finishBucket(int bucket, long[] timeByProcess, int[] touched, int touchedCount,
+            int[] dominant, long[] dominantTime, long[] busy, long[] switching) {
+        // A bucket with only switch overhead is shown as a switch, not as idle
+        int best = switching[bucket] > 0 ? Timeline.CONTEXT_SWITCH : Timeline.IDLE;
+        long bestTime = 0;
+        long total = 0;
+        for (int i = 0; i < touchedCount; i++) {
+            int process = touched[i];
+            long time = timeByProcess[process];
+            total += time;
+            if (time > bestTime) {
+                best = process;
+                bestTime = time;
+            }
+            timeByProcess[process] = 0;
+        }
+        dominant[bucket] = best;
+        dominantTime[bucket] = bestTime;
+        busy[bucket] = total;
+    }
+
+    private void mergeLevel(int level) {
+        int[] childDominant = dominantProcesses[level - 1];
+        long[] childDominantTime = dominantTimes[level - 1];
+        long[] childBusy = busyTimes[level - 1];
+        long[] childSwitching = switchTimes[level - 1];
+        int count = (childBusy.length + 1) / 2;
+        int[] dominant = new int[count];
+        long[] dominantTime = new long[count];
+        long[] busy = new long[count];
+        long[] switching = new long[count];
+
+        for (int bucket = 0; bucket < count; bucket++) {
+            int left = bucket * 2;
+            int right = left + 1;
+            dominant[bucket] = childDominant[left];
+            dominantTime[bucket] = childDominantTime[left];
+            busy[bucket] = childBusy[left];
+            switching[bucket] = childSwitching[left];
+            if (right < childBusy.length) {
+                busy[bucket] += childBusy[right];
+                switching[bucket] += childSwitching[right];
+                if (childDominant[right] == dominant[bucket]) {
+                    dominantTime[bucket] += childDominantTime[right];
+                } else if (childDominantTime[right] > dominantTime[bucket] || dominant[bucket] == Timeline.IDLE) {
+                    dominant[bucket] = childDominant[right];
+                    dominantTime[bucket] = childDominantTime[right];
+                }
+            }
+        }
+        dominantProcesses[level] = dominant;
+        dominantTimes[level] = dominantTime;
+        busyTimes[level] = busy;
+        switchTimes[level] = switching;
+    }
+
+    public int getLevelCount() {
+        return busyTimes.length;
+    }
+
+    public long getBucketWidth(int level) {
+        return 1L << (baseShift + level);
+    }
+
+    public int getBucketCount(int level) {
+        return busyTimes[level].length;
+    }
+
+    public long getBucketStart(int level, int bucket) {
+        return originTime + ((long) bucket << (baseShift + level));
+    }
+
+    // The last bucket of a level stops at the end of the schedule
+    public long getBucketEnd(int level, int bucket) {
+        return Math.min(getBucketStart(level, bucket) + getBucketWidth(level), endTime);
+    }
+
+    // Process that ran longest in the bucket. With no process, Timeline.CONTEXT_SWITCH if the
+    // bucket holds switch overhead, otherwise Timeline.IDLE.
+    public int getDominantProcess(int level, int bucket) {
+        return dominantProcesses[level][bucket];
+    }
+
+    // Share of the bucket spent running processes
+    public double getBusyRatio(int level, int bucket) {
+        long length = getBucketEnd(level, bucket) - getBucketStart(level, bucket);
+        return length <= 0 ? 0 : (double) busyTimes[level][bucket] / length;
+    }
+
+    // Share of the bucket spent switching between processes
+    public double getContextSwitchRatio(int level, int bucket) {
+        long length = getBucketEnd(level, bucket) - getBucketStart(level, bucket);
+        return length <= 0 ? 0 : (double) switchTimes[level][bucket] / length;
+    }
+
+    // Finest level whose buckets are at least minimumWidth time units wide
+    public int getLevelFor(double minimumWidth) {
+        int level = 0;
+        while (level < getLevelCount() - 1 && getBucketWidth(level) < minimumWidth) {
+            level++;
+        }
+        return level;
+    }
+
+    // Bucket containing the given time, clamped to the buckets of the level
+    public int findBucket(int level, double time) {
+        long bucket = (long) Math.floor((time - originTime) / getBucketWidth(level));
+        return (int) Math.max(0, Math.min(bucket, getBucketCount(level) - 1));
+    }
+}
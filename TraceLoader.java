@@ -0,0 +1,313 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+// Loads process traces from CSV or JSON files into a ProcessTable.
+//
+// CSV: one process per line as "id,arrival,burst[,priority]". An optional header
+// row may name the columns in any order. Blank lines and lines starting with # are skipped.
+// JSON: an array of objects, or an object with a "processes" array, where each
+// object has "id", "arrival", "burst" and optionally "priority".
+// The longer names used in the UI (processID, arrivalTime, burstTime) are accepted too.
+// A burst may also be a sequence of alternating CPU and I/O bursts such as "5;3;4;1:2;1"
+// (see BurstSequence); in JSON it is then given as a string.
+// Files ending in .bin are read as binary traces (see BinaryTrace).
+public class TraceLoader {
+    private static final int ID = 0, ARRIVAL = 1, BURST = 2, PRIORITY = 3;
+
+    public static ProcessTable load(Path path) throws IOException {
+        String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".json")) {
+            return loadJson(path);
+        }
+        if (name.endsWith(".bin")) {
+            return BinaryTrace.load(path);
+        }
+        return loadCsv(path);
+    }
+
+    public static ProcessTable loadCsv(Path path) throws IOException {
+        ProcessTable table = new ProcessTable(1024);
+        Set<String> processIDs = new HashSet<>();
+        int[] columns = {ID, ARRIVAL, BURST, PRIORITY};
+        boolean firstRow = true;
+        int lineNumber = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split(",", -1);
+
+                // The first row may be a header naming the columns
+                if (firstRow) {
+                    firstRow = false;
+                    int[] header = parseHeader(fields);
+                    if (header != null) {
+                        columns = header;
+                        continue;
+                    }
+                }
+
+                String[] values = new String[4];
+                for (int i = 0; i < fields.length && i < columns.length; i++) {
+                    if (columns[i] >= 0) {
+                        values[columns[i]] = fields[i].trim();
+                    }
+                }
+                try {
+                    addProcess(table, processIDs, values);
+                } catch (IOException e) {
+                    throw new IOException(path + ":" + lineNumber + ": " + e.getMessage());
+                }
+            }
+        }
+        return table;
+    }
+
+    public static ProcessTable loadJson(Path path) throws IOException {
+        String text = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+        JsonReader json = new JsonReader(text, path);
+        ProcessTable table = new ProcessTable(1024);
+        Set<String> processIDs = new HashSet<>();
+
+        json.skipWhitespace();
+        if (json.peek() == '{') {
+            // Look for the "processes" array inside a wrapper object
+            json.expect('{');
+            boolean found = false;
+            while (!json.consumeIf('}')) {
+                String key = json.readString();
+                json.expect(':');
+                if (key.equals("processes")) {
+                    readProcessArray(json, table, processIDs);
+                    found = true;
+                } else {
+                    json.skipValue();
+                }
+                json.consumeIf(',');
+            }
+            if (!found) {
+                throw new IOException(path + ": no \"processes\" array found");
+            }
+        } else {
+            readProcessArray(json, table, processIDs);
+        }
+        return table;
+    }
+
+    private static void readProcessArray(JsonReader json, ProcessTable table, Set<String> processIDs) throws IOException {
+        json.expect('[');
+        while (!json.consumeIf(']')) {
+            String[] values = new String[4];
+            json.expect('{');
+            while (!json.consumeIf('}')) {
+                int column = columnFor(json.readString());
+                json.expect(':');
+                if (column >= 0) {
+                    values[column] = json.readScalar();
+                } else {
+                    json.skipValue();
+                }
+                json.consumeIf(',');
+            }
+            try {
+                addProcess(table, processIDs, values);
+            } catch (IOException e) {
+                throw json.error(e.getMessage());
+            }
+            json.consumeIf(',');
+        }
+    }
+
+    private static void addProcess(ProcessTable table, Set<String> processIDs, String[] values) throws IOException {
+        String processID = values[ID];
+        if (processID == null || processID.isEmpty()) {
+            throw new IOException("Process ID cannot be empty.");
+        }
+        if (!processIDs.add(processID)) {
+            throw new IOException("Duplicate Process ID found: " + processID + ". Process IDs must be unique.");
+        }
+        long arrivalTime = parseField(values[ARRIVAL], "Arrival Time", processID);
+        if (arrivalTime < 0) {
+            throw new IOException("Arrival Time for Process ID " + processID + " must not be negative: " + arrivalTime);
+        }
+        long priority = values[PRIORITY] == null || values[PRIORITY].isEmpty() ? 0 : parseField(values[PRIORITY], "Priority", processID);
+        if (priority != (int) priority) {
+            throw new IOException("Priority for Process ID " + processID + " is out of range: " + priority);
+        }
+        if (values[BURST] != null && values[BURST].indexOf(';') >= 0) {
+            BurstSequence bursts;
+            try {
+                bursts = BurstSequence.parse(values[BURST]);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Burst Time for Process ID " + processID + " is not a burst sequence: " + values[BURST]);
+            }
+            if (bursts.getTotalCpuTime() <= 0) {
+                throw new IOException("Burst Time for Process ID " + processID + " needs some CPU time: " + values[BURST]);
+            }
+            table.add(processID, arrivalTime, bursts, (int) priority);
+            return;
+        }
+        long burstTime = parseField(values[BURST], "Burst Time", processID);
+        if (burstTime <= 0) {
+            throw new IOException("Burst Time for Process ID " + processID + " must be positive: " + burstTime);
+        }
+        table.add(processID, arrivalTime, burstTime, (int) priority);
+    }
+
+    private static long parseField(String text, String field, String processID) throws IOException {
+        if (text == null || text.isEmpty()) {
+            throw new IOException(field + " for Process ID " + processID + " is missing.");
+        }
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            throw new IOException(field + " for Process ID " + processID + " is not a number: " + text);
+        }
+    }
+
+    // A data row always has numbers in it, so a row without any is taken as the header.
+    // Returns the column mapping, with -1 for columns that are ignored, or null for a data row.
+    private static int[] parseHeader(String[] fields) {
+        int[] columns = new int[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i].trim().matches("-?\\d+")) {
+                return null;
+            }
+            columns[i] = columnFor(fields[i]);
+        }
+        return columns;
+    }
+
+    private static int columnFor(String name) {
+        String key = name.trim().toLowerCase(Locale.ROOT).replaceAll("[^a-z]", "");
+        return switch (key) {
+            case "id", "pid", "process", "processid" -> ID;
+            case "arrival", "arrivaltime" -> ARRIVAL;
+            case "burst", "bursttime" -> BURST;
+            case "priority" -> PRIORITY;
+            default -> -1;
+        };
+    }
+
+    // Minimal reader for the flat JSON structure used by traces
+    private static class JsonReader {
+        private final String text;
+        private final Path path;
+        private int position = 0;
+
+        JsonReader(String text, Path path) {
+            this.text = text;
+            this.path = path;
+        }
+
+        void skipWhitespace() {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+        }
+
+        char peek() throws IOException {
+            skipWhitespace();
+            if (position >= text.length()) {
+                throw error("unexpected end of input");
+            }
+            return text.charAt(position);
+        }
+
+        void expect(char c) throws IOException {
+            if (peek() != c) {
+                throw error("expected '" + c + "'");
+            }
+            position++;
+        }
+
+        boolean consumeIf(char c) throws IOException {
+            if (peek() == c) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        String readString() throws IOException {
+            expect('"');
+            StringBuilder builder = new StringBuilder();
+            while (position < text.length()) {
+                char c = text.charAt(position++);
+                if (c == '"') {
+                    return builder.toString();
+                }
+                if (c == '\\' && position < text.length()) {
+                    char escaped = text.charAt(position++);
+                    switch (escaped) {
+                        case 'n' -> builder.append('\n');
+                        case 't' -> builder.append('\t');
+                        case 'r' -> builder.append('\r');
+                        case 'b' -> builder.append('\b');
+                        case 'f' -> builder.append('\f');
+                        case 'u' -> {
+                            if (position + 4 > text.length()) {
+                                throw error("bad unicode escape");
+                            }
+                            builder.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                            position += 4;
+                        }
+                        default -> builder.append(escaped);
+                    }
+                } else {
+                    builder.append(c);
+                }
+            }
+            throw error("unterminated string");
+        }
+
+        // Reads a string, number, boolean or null as text
+        String readScalar() throws IOException {
+            if (peek() == '"') {
+                return readString().trim();
+            }
+            int start = position;
+            while (position < text.length() && ",}] \t\r\n".indexOf(text.charAt(position)) < 0) {
+                position++;
+            }
+            String value = text.substring(start, position);
+            if (value.isEmpty() || value.equals("null")) {
+                return null;
+            }
+            return value;
+        }
+
+        void skipValue() throws IOException {
+            char c = peek();
+            if (c == '{' || c == '[') {
+                char close = c == '{' ? '}' : ']';
+                position++;
+                while (!consumeIf(close)) {
+                    if (c == '{') {
+                        readString();
+                        expect(':');
+                    }
+                    skipValue();
+                    consumeIf(',');
+                }
+            } else {
+                readScalar();
+            }
+        }
+
+        IOException error(String message) {
+            return new IOException(path + ": " + message + " at offset " + position);
+        }
+    }
+}
@@ -0,0 +1,309 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+// Seeded generator of synthetic workloads. The same settings and seed always produce
+// the same processes.
+//
+// Arrival processes:
+//   poisson  - exponential gaps with the mean interarrival time
+//   mmpp     - two-state Markov-modulated Poisson process; a burst state arrives
+//              burstFactor times faster, and each state lasts an exponential time
+//              with its own mean (meanCalmStateTime, meanBurstStateTime)
+//   periodic - one arrival every mean interarrival time
+// Burst distributions (all with the mean burst time):
+//   uniform (1 to twice the mean), exponential, pareto (heavy tailed, shape paretoShape), bimodal (short and long
+//   jobs, longFraction of them long)
+// Priority distributions over 0 (highest) to priorityLevels - 1:
+//   uniform, zipf (urgent priorities are rare), constant (all 0)
+//
+// Processes are produced one at a time, so trace files of any length can be written
+// without holding the workload in memory.
+//
+// Usage: java WorkloadGenerator --count <n> --output <trace.csv|trace.bin> [options]
+public class WorkloadGenerator {
+    public static final String[] ARRIVAL_PROCESSES = {"poisson", "mmpp", "periodic"};
+    public static final String[] BURST_DISTRIBUTIONS = {"uniform", "exponential", "pareto", "bimodal"};
+    public static final String[] PRIORITY_DISTRIBUTIONS = {"uniform", "zipf", "constant"};
+    private static final int MAX_BURST_TIME = 1_000_000; // Caps the Pareto tail
+
+    private long seed = 1;
+    private String arrivalProcess = "poisson";
+    private double meanInterarrivalTime = 10;
+    private double burstFactor = 10;
+    private double meanCalmStateTime = 1000;
+    private double meanBurstStateTime = 100;
+    private String burstDistribution = "exponential";
+    private double meanBurst = 10;
+    private double paretoShape = 1.5;
+    private double longFraction = 0.1;
+    private String priorityDistribution = "uniform";
+    private int priorityLevels = 10;
+
+    // Receives each generated process in arrival order
+    public interface ProcessSink {
+        void accept(String processID, long arrivalTime, long burstTime, int priority) throws IOException;
+    }
+
+    public static void main(String[] args) {
+        WorkloadGenerator generator = new WorkloadGenerator();
+        long count = -1;
+        Path output = null;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--count", "-n" -> count = Long.parseLong(requireValue(args, ++i));
+                    case "--output", "-o" -> output = Paths.get(requireValue(args, ++i));
+                    case "--seed" -> generator.setSeed(Long.parseLong(requireValue(args, ++i)));
+                    case "--arrival" -> generator.setArrivalProcess(requireValue(args, ++i));
+                    case "--interarrival" -> generator.setMeanInterarrivalTime(Double.parseDouble(requireValue(args, ++i)));
+                    case "--burst-factor" -> generator.setBurstFactor(Double.parseDouble(requireValue(args, ++i)));
+                    case "--calm-state-time" -> generator.setMeanCalmStateTime(Double.parseDouble(requireValue(args, ++i)));
+                    case "--burst-state-time" -> generator.setMeanBurstStateTime(Double.parseDouble(requireValue(args, ++i)));
+                    case "--burst" -> generator.setBurstDistribution(requireValue(args, ++i));
+                    case "--mean-burst" -> generator.setMeanBurst(Double.parseDouble(requireValue(args, ++i)));
+                    case "--pareto-shape" -> generator.setParetoShape(Double.parseDouble(requireValue(args, ++i)));
+                    case "--long-fraction" -> generator.setLongFraction(Double.parseDouble(requireValue(args, ++i)));
+                    case "--priority" -> generator.setPriorityDistribution(requireValue(args, ++i));
+                    case "--priority-levels" -> generator.setPriorityLevels(Integer.parseInt(requireValue(args, ++i)));
+                    case "--help", "-h" -> {
+                        printUsage();
+                        return;
+                    }
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            if (count < 0 || output == null) {
+                throw new IllegalArgumentException("A process count and an output file are required.");
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            printUsage();
+            System.exit(2);
+            return;
+        }
+
+        try {
+            if (output.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".bin")) {
+                generator.writeBinary(count, output);
+            } else {
+                generator.writeCsv(count, output);
+            }
+            System.out.println("Wrote " + count + " processes to " + output);
+        } catch (IOException | IllegalStateException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    public void generate(long count, ProcessSink sink) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed);
+        double arrivalTime = 0;
+        boolean bursting = false;
+        double stateEndTime = exponential(random, meanCalmStateTime);
+
+        for (long i = 0; i < count; i++) {
+            if (i > 0) {
+                switch (arrivalProcess) {
+                    case "poisson" -> arrivalTime += exponential(random, meanInterarrivalTime);
+                    case "periodic" -> arrivalTime += meanInterarrivalTime;
+                    case "mmpp" -> {
+                        // Gaps are memoryless, so a gap that crosses a state change restarts from it
+                        double next;
+                        while ((next = arrivalTime + exponential(random, bursting ? meanInterarrivalTime / burstFactor : meanInterarrivalTime)) > stateEndTime) {
+                            arrivalTime = stateEndTime;
+                            bursting = !bursting;
+                            stateEndTime += exponential(random, bursting ? meanBurstStateTime : meanCalmStateTime);
+                        }
+                        arrivalTime = next;
+                    }
+                    default -> throw new IllegalStateException("Unknown arrival process: " + arrivalProcess);
+                }
+            }
+            sink.accept("P" + (i + 1), (long) arrivalTime, nextBurstTime(random), nextPriority(random));
+        }
+    }
+
+    public List<Process> generateProcesses(int count) {
+        List<Process> processes = new ArrayList<>(count);
+        try {
+            generate(count, (processID, arrivalTime, burstTime, priority) ->
+                processes.add(new Process(processID, arrivalTime, burstTime, priority)));
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // Adding to a list never fails
+        }
+        return processes;
+    }
+
+    public ProcessTable generateTable(int count) {
+        ProcessTable table = new ProcessTable(count);
+        try {
+            generate(count, table::add);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return table;
+    }
+
+    public void writeCsv(long count, Path path) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write("id,arrival,burst,priority");
+            writer.newLine();
+            generate(count, (processID, arrivalTime, burstTime, priority) -> {
+                writer.write(processID + "," + arrivalTime + "," + burstTime + "," + priority);
+                writer.newLine();
+            });
+        }
+    }
+
+    public void writeBinary(long count, Path path) throws IOException {
+        try (BinaryTrace.Writer writer = new BinaryTrace.Writer(path)) {
+            generate(count, writer::add);
+        }
+    }
+
+    private int nextBurstTime(SplittableRandom random) {
+        double burst = switch (burstDistribution) {
+            case "uniform" -> 1 + random.nextDouble() * Math.max(2 * meanBurst - 2, 0);
+            case "exponential" -> exponential(random, meanBurst);
+            case "pareto" -> {
+                // Scale chosen so the mean is meanBurst
+                double scale = meanBurst * (paretoShape - 1) / paretoShape;
+                yield scale / Math.pow(1 - random.nextDouble(), 1 / paretoShape);
+            }
+            case "bimodal" -> {
+                // Long jobs are ten times short ones, sized so the overall mean is meanBurst
+                double shortMean = meanBurst / (1 + 9 * longFraction);
+                double mode = random.nextDouble() < longFraction ? 10 * shortMean : shortMean;
+                yield mode * (0.5 + random.nextDouble());
+            }
+            default -> throw new IllegalStateException("Unknown burst distribution: " + burstDistribution);
+        };
+        return (int) Math.max(1, Math.min(Math.round(burst), MAX_BURST_TIME));
+    }
+
+    private int nextPriority(SplittableRandom random) {
+        return switch (priorityDistribution) {
+            case "uniform" -> random.nextInt(priorityLevels);
+            case "constant" -> 0;
+            case "zipf" -> {
+                // Rank r is drawn with weight 1 / r; rank 1 is the least urgent priority
+                double harmonic = 0;
+                for (int rank = 1; rank <= priorityLevels; rank++) {
+                    harmonic += 1.0 / rank;
+                }
+                double target = random.nextDouble() * harmonic;
+                int rank = 1;
+                double sum = 1;
+                while (sum < target && rank < priorityLevels) {
+                    rank++;
+                    sum += 1.0 / rank;
+                }
+                yield priorityLevels - rank;
+            }
+            default -> throw new IllegalStateException("Unknown priority distribution: " + priorityDistribution);
+        };
+    }
+
+    private static double exponential(SplittableRandom random, double mean) {
+        return -Math.log(1 - random.nextDouble()) * mean;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public void setArrivalProcess(String arrivalProcess) {
+        this.arrivalProcess = requireOneOf(arrivalProcess, ARRIVAL_PROCESSES, "arrival process");
+    }
+
+    public void setMeanInterarrivalTime(double meanInterarrivalTime) {
+        this.meanInterarrivalTime = requirePositive(meanInterarrivalTime, "Mean interarrival time");
+    }
+
+    // MMPP only: how much faster arrivals come in the burst state, and how long each state lasts on average
+    public void setBurstFactor(double burstFactor) {
+        this.burstFactor = requirePositive(burstFactor, "Burst factor");
+    }
+
+    public void setMeanCalmStateTime(double meanCalmStateTime) {
+        this.meanCalmStateTime = requirePositive(meanCalmStateTime, "Mean calm state time");
+    }
+
+    public void setMeanBurstStateTime(double meanBurstStateTime) {
+        this.meanBurstStateTime = requirePositive(meanBurstStateTime, "Mean burst state time");
+    }
+
+    public void setBurstDistribution(String burstDistribution) {
+        this.burstDistribution = requireOneOf(burstDistribution, BURST_DISTRIBUTIONS, "burst distribution");
+    }
+
+    public void setMeanBurst(double meanBurst) {
+        this.meanBurst = requirePositive(meanBurst, "Mean burst");
+    }
+
+    public void setParetoShape(double paretoShape) {
+        if (!(paretoShape > 1)) {
+            throw new IllegalArgumentException("Pareto shape must be greater than 1 for the mean to exist.");
+        }
+        this.paretoShape = paretoShape;
+    }
+
+    public void setLongFraction(double longFraction) {
+        if (!(longFraction >= 0 && longFraction <= 1)) {
+            throw new IllegalArgumentException("Long fraction must be between 0 and 1.");
+        }
+        this.longFraction = longFraction;
+    }
+
+    public void setPriorityDistribution(String priorityDistribution) {
+        this.priorityDistribution = requireOneOf(priorityDistribution, PRIORITY_DISTRIBUTIONS, "priority distribution");
+    }
+
+    public void setPriorityLevels(int priorityLevels) {
+        if (priorityLevels <= 0) {
+            throw new IllegalArgumentException("Priority levels must be positive.");
+        }
+        this.priorityLevels = priorityLevels;
+    }
+
+    private static String requireOneOf(String value, String[] allowed, String what) {
+        String key = value.toLowerCase(Locale.ROOT);
+        for (String option : allowed) {
+            if (option.equals(key)) {
+                return option;
+            }
+        }
+        throw new IllegalArgumentException("Unknown " + what + ": " + value + " (expected one of " + String.join(", ", allowed) + ")");
+    }
+
+    private static double requirePositive(double value, String what) {
+        if (!(value > 0)) {
+            throw new IllegalArgumentException(what + " must be positive.");
+        }
+        return value;
+    }
+
+    private static String requireValue(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException(args[index - 1] + " needs a value.");
+        }
+        return args[index];
+    }
+
+    private static void printUsage() {
+        System.err.println("Usage: java WorkloadGenerator --count <n> --output <trace.csv|trace.bin> [--seed <n>]");
+        System.err.println("       [--arrival poisson|mmpp|periodic] [--interarrival <mean>]");
+        System.err.println("       [--burst-factor <x>] [--calm-state-time <mean>] [--burst-state-time <mean>] (mmpp only)");
+        System.err.println("       [--burst uniform|exponential|pareto|bimodal] [--mean-burst <mean>] [--pareto-shape <a>] [--long-fraction <f>]");
+        System.err.println("       [--priority uniform|zipf|constant] [--priority-levels <n>]");
+    }
+}
@@ -0,0 +1,52 @@
+package benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+// One full schedule of the workload per invocation, including the table copy and the
+// timeline it records. Run with "-prof gc" for gc.alloc.rate and allocations per run.
+// Round Robin and MLFQ are in QuantumBenchmark so the quantum parameter does not multiply these.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AlgorithmBenchmark {
+    private static final MethodHandle PREEMPTIVE_SJF = Engine.algorithm("executePreemptiveSJF");
+    private static final MethodHandle NON_PREEMPTIVE_SJF = Engine.algorithm("executeNonPreemptiveSJF");
+    private static final MethodHandle PREEMPTIVE_PRIORITY = Engine.algorithm("executePreemptivePriority");
+    private static final MethodHandle NON_PREEMPTIVE_PRIORITY = Engine.algorithm("executeNonPreemptivePriority");
+    private static final MethodHandle COMPLETELY_FAIR = Engine.algorithm("executeCompletelyFair");
+
+    @Benchmark
+    public long preemptiveSJF(Workload workload) throws Throwable {
+        return Engine.run(PREEMPTIVE_SJF, workload.table, 0);
+    }
+
+    @Benchmark
+    public long nonPreemptiveSJF(Workload workload) throws Throwable {
+        return Engine.run(NON_PREEMPTIVE_SJF, workload.table, 0);
+    }
+
+    @Benchmark
+    public long preemptivePriority(Workload workload) throws Throwable {
+        return Engine.run(PREEMPTIVE_PRIORITY, workload.table, 0);
+    }
+
+    @Benchmark
+    public long nonPreemptivePriority(Workload workload) throws Throwable {
+        return Engine.run(NON_PREEMPTIVE_PRIORITY, workload.table, 0);
+    }
+
+    @Benchmark
+    public long completelyFair(Workload workload) throws Throwable {
+        return Engine.run(COMPLETELY_FAIR, workload.table, 0);
+    }
+}
@@ -0,0 +1,70 @@
+package benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+// Calls into the scheduler through method handles. The scheduler classes live in the
+// default package, which cannot be imported, and JMH refuses benchmarks in the default
+// package. The handles are constants, so the JIT inlines them like direct calls.
+final class Engine {
+    private static final MethodHandle COPY;
+    private static final MethodHandle NEW_CONTROLLER;
+    private static final MethodHandle TOTAL_TURNAROUND_TIME;
+    private static final Class<?> TABLE;
+    private static final Class<?> CONTROLLER;
+    private static final Class<?> GENERATOR;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            Class<?> table = TABLE = Class.forName("ProcessTable");
+            CONTROLLER = Class.forName("Controller");
+            GENERATOR = Class.forName("WorkloadGenerator");
+            COPY = lookup.findVirtual(table, "copy", MethodType.methodType(table))
+                .asType(MethodType.methodType(Object.class, Object.class));
+            NEW_CONTROLLER = lookup.findConstructor(CONTROLLER, MethodType.methodType(void.class, table, int.class))
+                .asType(MethodType.methodType(Object.class, Object.class, int.class));
+            TOTAL_TURNAROUND_TIME = lookup.findVirtual(CONTROLLER, "getTotalTurnaroundTime", MethodType.methodType(long.class))
+                .asType(MethodType.methodType(long.class, Object.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private Engine() {
+    }
+
+    // Handle for one of Controller's executeX() methods, typed (Object)void
+    static MethodHandle algorithm(String methodName) {
+        try {
+            return MethodHandles.publicLookup().findVirtual(CONTROLLER, methodName, MethodType.methodType(void.class))
+                .asType(MethodType.methodType(void.class, Object.class));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Controller has no method " + methodName, e);
+        }
+    }
+
+    // A table from WorkloadGenerator with Poisson arrivals, so the benchmarks schedule the
+    // same workloads the tool writes. Only called during setup, so the handles are not cached.
+    static Object generateTable(long seed, String burstDistribution, double meanInterarrivalTime, double meanBurst,
+            int count) throws Throwable {
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        Object generator = lookup.findConstructor(GENERATOR, MethodType.methodType(void.class)).invoke();
+        lookup.findVirtual(GENERATOR, "setSeed", MethodType.methodType(void.class, long.class)).invoke(generator, seed);
+        lookup.findVirtual(GENERATOR, "setBurstDistribution", MethodType.methodType(void.class, String.class))
+            .invoke(generator, burstDistribution);
+        lookup.findVirtual(GENERATOR, "setMeanInterarrivalTime", MethodType.methodType(void.class, double.class))
+            .invoke(generator, meanInterarrivalTime);
+        lookup.findVirtual(GENERATOR, "setMeanBurst", MethodType.methodType(void.class, double.class)).invoke(generator, meanBurst);
+        return lookup.findVirtual(GENERATOR, "generateTable", MethodType.methodType(TABLE, int.class)).invoke(generator, count);
+    }
+
+    // Schedules a fresh copy of the table, so every invocation starts from the same state
+    static long run(MethodHandle algorithm, Object table, int quantumTime) throws Throwable {
+        Object copy = (Object) COPY.invokeExact(table);
+        Object controller = (Object) NEW_CONTROLLER.invokeExact(copy, quantumTime);
+        algorithm.invokeExact(controller);
+        return (long) TOTAL_TURNAROUND_TIME.invokeExact(controller);
+    }
+}
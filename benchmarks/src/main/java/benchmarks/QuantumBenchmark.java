@@ -0,0 +1,40 @@
+package benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// The quantum-based algorithms on the same workloads as AlgorithmBenchmark, across
+// time quanta below, near and above the mean burst. MLFQ uses its default levels.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QuantumBenchmark {
+    private static final MethodHandle ROUND_ROBIN = Engine.algorithm("executeRoundRobin");
+    private static final MethodHandle MULTILEVEL_FEEDBACK_QUEUE = Engine.algorithm("executeMultilevelFeedbackQueue");
+
+    @Param({"2", "8", "32"})
+    public int quantumTime;
+
+    @Benchmark
+    public long roundRobin(Workload workload) throws Throwable {
+        return Engine.run(ROUND_ROBIN, workload.table, quantumTime);
+    }
+
+    @Benchmark
+    public long multilevelFeedbackQueue(Workload workload) throws Throwable {
+        return Engine.run(MULTILEVEL_FEEDBACK_QUEUE, workload.table, quantumTime);
+    }
+}
@@ -0,0 +1,33 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Seeded process table shared by the benchmarks, built by WorkloadGenerator.
+//
+// Arrivals are a Poisson process. arrivalDensity is the offered load: the mean burst
+// divided by the mean gap between arrivals, so values above 1 keep the ready queue growing.
+@State(Scope.Benchmark)
+public class Workload {
+    private static final double MEAN_BURST = 10;
+    private static final long SEED = 42;
+
+    @Param({"1000", "100000"})
+    public int processCount;
+
+    @Param({"uniform", "exponential", "pareto"})
+    public String burstDistribution;
+
+    @Param({"0.5", "1.0", "2.0"})
+    public double arrivalDensity;
+
+    Object table;
+
+    @Setup(Level.Trial)
+    public void generate() throws Throwable {
+        table = Engine.generateTable(SEED, burstDistribution, MEAN_BURST / arrivalDensity, MEAN_BURST, processCount);
+    }
+}
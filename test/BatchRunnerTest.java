@@ -0,0 +1,113 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class BatchRunnerTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void quotesFieldsPerRfc4180() {
+        assertEquals("P1", BatchRunner.csvField("P1"));
+        assertEquals("\"a,b\"", BatchRunner.csvField("a,b"));
+        assertEquals("\"say \"\"hi\"\"\"", BatchRunner.csvField("say \"hi\""));
+    }
+
+    @Test
+    void resolvesAlgorithmNamesInAnyLocale() {
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(new Locale("tr", "TR"));
+        try {
+            assertEquals("Preemptive Priority", BatchRunner.resolveAlgorithm("PREEMPTIVE_PRIORITY"));
+            assertEquals("Multilevel Feedback Queue", BatchRunner.resolveAlgorithm("MLFQ"));
+            assertEquals("Non Preemptive SJF", BatchRunner.resolveAlgorithm("non-preemptive-sjf"));
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    void writesMetricsWithQuotedIdsInAnyLocale() throws IOException {
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.GERMANY);
+        try {
+            Path trace = Files.writeString(directory.resolve("trace.json"),
+                "[{\"id\": \"A,1\", \"arrival\": 0, \"burst\": 3, \"priority\": 1}, {\"id\": \"B\", \"arrival\": 1, \"burst\": 2, \"priority\": 2}]");
+            BatchRunner.runTrace(trace, "Non Preemptive Priority", 0, directory);
+
+            List<String> metrics = Files.readAllLines(directory.resolve("trace.metrics.csv"));
+            assertEquals("\"A,1\",0,3,1,3,3,0,0,0", metrics.get(1));
+            List<String> timeline = Files.readAllLines(directory.resolve("trace.timeline.csv"));
+            assertEquals("\"A,1\",0,3", timeline.get(1));
+            List<String> priorities = Files.readAllLines(directory.resolve("trace.priorities.csv"));
+            assertEquals("1,1,0.00,0", priorities.get(1));
+            assertEquals("2,1,2.00,2", priorities.get(2));
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    void writesDeviceUsageInAnyLocale() throws IOException {
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.GERMANY);
+        try {
+            Path trace = Files.writeString(directory.resolve("io.csv"), "id,arrival,burst,priority\nA,0,5;3;1,1\n");
+            BatchRunner.runTrace(trace, "Round Robin", 10, directory);
+
+            List<String> devices = Files.readAllLines(directory.resolve("io.devices.csv"));
+            assertEquals("0,1,3,0.3333,0.00", devices.get(1));
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    void agingLetsALowPriorityProcessRunUnderAStreamOfHighPriorityArrivals() throws IOException {
+        // L waits at priority 5 while a priority 0 process arrives every 3 units, as the previous one
+        // finishes. Aging every 2 units gives L key 5 * 2 + 0 = 10 against key 0 * 2 + arrival.
+        Path trace = Files.writeString(directory.resolve("stream.csv"),
+            "id,arrival,burst,priority\nL,0,2,5\nH1,0,3,0\nH2,3,3,0\nH3,6,3,0\nH4,9,3,0\nH5,12,3,0\nH6,15,3,0\n");
+        String header = "priority,processes,averageWaitingTime,maximumWaitingTime";
+
+        // Non-preemptive: L goes ahead of H5 (key 12) at 12 instead of starving until 18
+        Controller aged = BatchRunner.runTrace(trace, "Non Preemptive Priority", 0, directory, controller -> controller.setAgingInterval(2));
+        assertEquals(12, aged.getProcessTable().getFirstRunTime(0));
+        assertEquals(List.of(header, "0,6,0.67,2", "5,1,12.00,12"), Files.readAllLines(directory.resolve("stream.priorities.csv")));
+        Controller starved = BatchRunner.runTrace(trace, "Non Preemptive Priority", 0, directory);
+        assertEquals(18, starved.getProcessTable().getFirstRunTime(0));
+        assertEquals(List.of(header, "0,6,0.00,0", "5,1,18.00,18"), Files.readAllLines(directory.resolve("stream.priorities.csv")));
+
+        // Preemptive: L overtakes H4 once H4 has run 1 unit (key 9 + 1 ties 10, L arrived first).
+        // H4 has aged meanwhile and takes the CPU back, and the preempted L restarts aging, so it
+        // still completes last; the high-priority class pays one unit each for the interruption.
+        aged = BatchRunner.runTrace(trace, "Preemptive Priority", 0, directory, controller -> controller.setAgingInterval(2));
+        assertEquals(10, aged.getProcessTable().getFirstRunTime(0));
+        assertEquals(List.of(header, "0,6,0.50,1", "5,1,18.00,18"), Files.readAllLines(directory.resolve("stream.priorities.csv")));
+        starved = BatchRunner.runTrace(trace, "Preemptive Priority", 0, directory);
+        assertEquals(18, starved.getProcessTable().getFirstRunTime(0));
+        assertEquals(List.of(header, "0,6,0.00,0", "5,1,18.00,18"), Files.readAllLines(directory.resolve("stream.priorities.csv")));
+    }
+
+    @Test
+    void writesPercentilesInAnyLocale() throws IOException {
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.GERMANY);
+        try {
+            Files.writeString(directory.resolve("trace.csv"), "id,arrival,burst,priority\nA,0,3,1\nB,1,2,2\n");
+            BatchRunner.main(new String[] {"--algorithm", "Non Preemptive SJF", "--output", directory.toString(), directory.resolve("trace.csv").toString()});
+
+            List<String> percentiles = Files.readAllLines(directory.resolve("percentiles.csv"));
+            assertTrue(percentiles.get(1).startsWith("turnaroundTime,2,3.50,"), percentiles.get(1));
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class BinaryTraceTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void roundTripsATable() throws IOException {
+        ProcessTable table = new ProcessTable(2);
+        table.add("late", 7, 3, 1);
+        table.add("early", 2, 5, -4);
+        Path trace = directory.resolve("trace.bin");
+        BinaryTrace.write(table, trace);
+
+        ProcessTable loaded = BinaryTrace.load(trace);
+        assertEquals(2, loaded.size());
+        assertEquals("early", loaded.getProcessID(0));
+        assertEquals(2, loaded.getArrivalTime(0));
+        assertEquals(5, loaded.getBurstTime(0));
+        assertEquals(-4, loaded.getPriority(0));
+        assertEquals("late", loaded.getProcessID(1));
+    }
+
+    @Test
+    void rejectsHeaderWithHugeIdWidth() throws IOException {
+        for (int idWidth : new int[] {Integer.MAX_VALUE, Integer.MAX_VALUE - 19, -20, 0}) {
+            Path trace = writeHeader(1, idWidth, 64);
+            assertThrows(IOException.class, () -> BinaryTrace.load(trace), "ID width " + idWidth);
+        }
+    }
+
+    @Test
+    void rejectsTruncatedTrace() throws IOException {
+        Path trace = writeHeader(Integer.MAX_VALUE - 8, BinaryTrace.DEFAULT_ID_WIDTH, 36);
+        assertThrows(IOException.class, () -> BinaryTrace.load(trace));
+    }
+
+    @Test
+    void rejectsRecordsTheTextLoadersReject() throws IOException {
+        Path zeroBurst = writeRecords("zero.bin", new String[] {"A", "B"}, new long[] {0, 1}, new long[] {0, 2});
+        assertThrows(IOException.class, () -> BinaryTrace.load(zeroBurst));
+
+        Path duplicate = writeRecords("duplicate.bin", new String[] {"A", "A", "B"}, new long[] {0, 0, 1}, new long[] {1, 3, 2});
+        IOException e = assertThrows(IOException.class, () -> BinaryTrace.load(duplicate));
+        assertTrue(e.getMessage().contains("Duplicate Process ID found: A"), e.getMessage());
+    }
+
+    @Test
+    void writerRejectsNonPositiveBursts() throws IOException {
+        try (BinaryTrace.Writer writer = new BinaryTrace.Writer(directory.resolve("trace.bin"))) {
+            assertThrows(IOException.class, () -> writer.add("A", 0, 0, 1));
+            assertThrows(IOException.class, () -> writer.add("B", 0, -2, 1));
+        }
+    }
+
+    // Bypasses the writer's checks, like a file from another tool would
+    private Path writeRecords(String name, String[] ids, long[] arrivals, long[] bursts) throws IOException {
+        int recordSize = BinaryTrace.DEFAULT_ID_WIDTH + 20;
+        ByteBuffer buffer = ByteBuffer.allocate(BinaryTrace.HEADER_SIZE + ids.length * recordSize).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(BinaryTrace.MAGIC).putInt(BinaryTrace.VERSION).putLong(ids.length).putInt(BinaryTrace.DEFAULT_ID_WIDTH);
+        buffer.position(BinaryTrace.HEADER_SIZE);
+        for (int i = 0; i < ids.length; i++) {
+            byte[] id = Arrays.copyOf(ids[i].getBytes(StandardCharsets.UTF_8), BinaryTrace.DEFAULT_ID_WIDTH);
+            buffer.put(id).putLong(arrivals[i]).putLong(bursts[i]).putInt(1);
+        }
+        return Files.write(directory.resolve(name), buffer.array());
+    }
+
+    private Path writeHeader(long recordCount, int idWidth, int recordBytes) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(BinaryTrace.HEADER_SIZE + recordBytes).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(BinaryTrace.MAGIC).putInt(BinaryTrace.VERSION).putLong(recordCount).putInt(idWidth);
+        return Files.write(directory.resolve("corrupt.bin"), header.array());
+    }
+}
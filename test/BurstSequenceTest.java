@@ -0,0 +1,33 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class BurstSequenceTest {
+    @Test
+    void parsesCpuAndIOBurstsWithDevices() {
+        BurstSequence bursts = BurstSequence.parse("5;3;4; 1:2 ;1");
+        assertEquals(2, bursts.getIOBurstCount());
+        assertEquals(5, bursts.getCpuBurst(0));
+        assertEquals(0, bursts.getIODevice(0));
+        assertEquals(3, bursts.getIOTime(0));
+        assertEquals(4, bursts.getCpuBurst(1));
+        assertEquals(1, bursts.getIODevice(1));
+        assertEquals(2, bursts.getIOTime(1));
+        assertEquals(1, bursts.getCpuBurst(2));
+        assertEquals(10, bursts.getTotalCpuTime());
+        assertEquals(5, bursts.getTotalIOTime());
+
+        BurstSequence single = BurstSequence.parse("7");
+        assertFalse(single.hasIO());
+        assertEquals(7, single.getTotalCpuTime());
+    }
+
+    @Test
+    void rejectsMalformedSequences() {
+        for (String text : new String[] {"5;3", "5;3;", "", "5;;1", "5;x;1", "5;1:;1", "-1", "5;-3;1", "5;-1:3;1", "5;3;4;2"}) {
+            assertThrows(IllegalArgumentException.class, () -> BurstSequence.parse(text), text);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ControllerTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void baselineSchedulesTiesAndAnIdleGap() {
+        // P1 and P2 arrive together with equal bursts; the CPU idles from 6 to 8, then three
+        // processes arrive within a unit, P4 and P5 together
+        int[][] workload = {{0, 3, 2}, {0, 3, 1}, {8, 2, 3}, {9, 1, 1}, {9, 4, 2}};
+        assertSchedule(workload, "Round Robin", 4.2, 1.6,
+            "P1@0+2", "P2@2+2", "P1@4+1", "P2@5+1", "IDLE@6+2", "P3@8+2", "P4@10+1", "P5@11+4");
+        assertSchedule(workload, "Preemptive SJF", 3.8, 1.2,
+            "P1@0+3", "P2@3+3", "IDLE@6+2", "P3@8+2", "P4@10+1", "P5@11+4");
+        assertSchedule(workload, "Non Preemptive SJF", 3.8, 1.2,
+            "P1@0+3", "P2@3+3", "IDLE@6+2", "P3@8+2", "P4@10+1", "P5@11+4");
+        assertSchedule(workload, "Preemptive Priority", 4.4, 1.8,
+            "P2@0+3", "P1@3+3", "IDLE@6+2", "P3@8+1", "P4@9+1", "P5@10+4", "P3@14+1");
+        assertSchedule(workload, "Non Preemptive Priority", 3.8, 1.2,
+            "P2@0+3", "P1@3+3", "IDLE@6+2", "P3@8+2", "P4@10+1", "P5@11+4");
+    }
+
+    @Test
+    void baselineSchedulesPreemptionsAndBurstTies() {
+        // A long first process that later arrivals preempt; P2 and P4 tie on both burst and priority
+        int[][] workload = {{0, 7, 3}, {2, 4, 1}, {4, 1, 2}, {5, 4, 1}, {6, 2, 4}};
+        assertSchedule(workload, "Round Robin", 9.4, 5.8,
+            "P1@0+2", "P2@2+2", "P1@4+2", "P3@6+1", "P2@7+2", "P4@9+2", "P5@11+2", "P1@13+2", "P4@15+2", "P1@17+1");
+        assertSchedule(workload, "Preemptive SJF", 7.0, 3.4,
+            "P1@0+2", "P2@2+2", "P3@4+1", "P2@5+2", "P5@7+2", "P4@9+4", "P1@13+5");
+        assertSchedule(workload, "Non Preemptive SJF", 8.0, 4.4,
+            "P1@0+7", "P3@7+1", "P5@8+2", "P2@10+4", "P4@14+4");
+        assertSchedule(workload, "Preemptive Priority", 8.8, 5.2,
+            "P1@0+2", "P2@2+4", "P4@6+4", "P3@10+1", "P1@11+5", "P5@16+2");
+        assertSchedule(workload, "Non Preemptive Priority", 10.0, 6.4,
+            "P1@0+7", "P2@7+4", "P4@11+4", "P3@15+1", "P5@16+2");
+    }
+
+    @Test
+    void baselineSchedulesLateStartSimultaneousArrivalsAndALongGap() {
+        // Nothing arrives until 1, P2 and P3 arrive together with equal bursts, and P5 comes after a
+        // 4 unit idle gap
+        int[][] workload = {{1, 5, 2}, {3, 2, 2}, {3, 2, 1}, {4, 6, 0}, {20, 3, 1}};
+        assertSchedule(workload, "Round Robin", 6.4, 2.8,
+            "IDLE@0+1", "P1@1+2", "P2@3+2", "P3@5+2", "P1@7+2", "P4@9+2", "P1@11+1", "P4@12+4", "IDLE@16+4", "P5@20+3");
+        assertSchedule(workload, "Preemptive SJF", 6.0, 2.4,
+            "IDLE@0+1", "P1@1+2", "P2@3+2", "P3@5+2", "P1@7+3", "P4@10+6", "IDLE@16+4", "P5@20+3");
+        assertSchedule(workload, "Non Preemptive SJF", 6.4, 2.8,
+            "IDLE@0+1", "P1@1+5", "P2@6+2", "P3@8+2", "P4@10+6", "IDLE@16+4", "P5@20+3");
+        assertSchedule(workload, "Preemptive Priority", 8.6, 5.0,
+            "IDLE@0+1", "P1@1+2", "P3@3+1", "P4@4+6", "P3@10+1", "P1@11+3", "P2@14+2", "IDLE@16+4", "P5@20+3");
+        assertSchedule(workload, "Non Preemptive Priority", 8.0, 4.4,
+            "IDLE@0+1", "P1@1+5", "P4@6+6", "P3@12+2", "P2@14+2", "IDLE@16+4", "P5@20+3");
+    }
+
+    @Test
+    void completelyFairStaysFairPastLongVirtualRuntimes() {
+        // Two nice 19 processes each needing far more CPU than the old scaled virtual runtime could hold
+        long burst = 200_000_000_000L;
+        ProcessTable table = new ProcessTable(2);
+        table.add("A", 0, burst, 19);
+        table.add("B", 1, burst, 19);
+        Controller controller = new Controller(table, 1);
+        controller.setTargetLatency(Integer.MAX_VALUE);
+        controller.executeCompletelyFair();
+
+        ProcessTable result = controller.getProcessTable();
+        assertEquals(2 * burst, Math.max(result.getCompletionTime(0), result.getCompletionTime(1)));
+        assertTrue(Math.min(result.getCompletionTime(0), result.getCompletionTime(1)) > 2 * burst - Integer.MAX_VALUE);
+    }
+
+    @Test
+    void backToBackSwitchesStaySeparate() {
+        // B preempts A at 1; C arrives during that switch and preempts B before B runs
+        ProcessTable table = new ProcessTable(3);
+        table.add("A", 0, 10, 5);
+        table.add("B", 1, 4, 3);
+        table.add("C", 2, 4, 1);
+        Controller controller = new Controller(table, 1);
+        controller.setContextSwitchTime(2);
+        controller.executePreemptivePriority();
+
+        assertEquals(List.of("A@0+1", "CS@1+2", "CS@3+2", "C@5+4", "CS@9+2", "B@11+4", "CS@15+2", "A@17+9"), entries(controller));
+        assertEquals(4, controller.getContextSwitchCount());
+    }
+
+    @Test
+    void multilevelFeedbackQueueDemotesPreemptsAndBoosts() {
+        ProcessTable table = new ProcessTable(3);
+        table.add("A", 0, 8, 0);
+        table.add("C", 0, 8, 0);
+        table.add("B", 5, 1, 0);
+        Controller controller = new Controller(table, 1);
+        controller.setFeedbackQuanta(1, 2, 4);
+        controller.setBoostInterval(10);
+        controller.executeMultilevelFeedbackQueue();
+
+        // A and C drop a level per used-up quantum; B arrives on the top level and preempts C
+        // on level 1. The boost at 10 lifts A and C back to the top, so A gets only one unit
+        // there instead of finishing its level 2 quantum.
+        assertEquals(List.of("A@0+1", "C@1+1", "A@2+2", "C@4+1", "B@5+1", "C@6+1", "A@7+4", "C@11+1", "A@12+1", "C@13+4"),
+            entries(controller));
+        assertEquals(31.0 / 3, controller.getAverageTurnaroundTime(), 1e-9);
+    }
+
+    @Test
+    void processesQueueForASharedDevice() throws IOException {
+        // B blocks at 3 while A holds device 0 until 6, so B's request waits 3 and ends at 9
+        ProcessTable table = new ProcessTable(2);
+        table.add("A", 0, BurstSequence.parse("2;4;1"), 0);
+        table.add("B", 0, BurstSequence.parse("1;3;1"), 0);
+        Controller controller = new Controller(table, 10);
+        controller.executeRoundRobin();
+
+        assertEquals(List.of("A@0+2", "B@2+1", "IDLE@3+3", "A@6+1", "IDLE@7+2", "B@9+1"), entries(controller));
+        ProcessTable result = controller.getProcessTable();
+        assertEquals(4, result.getBlockedTime(0));
+        assertEquals(6, result.getBlockedTime(1));
+        assertEquals(0, result.getWaitingTime(0));
+        assertEquals(2, result.getWaitingTime(1));
+        assertEquals(0.7, controller.getDeviceUtilization(0), 1e-9);
+        assertEquals(1.5, controller.getIODevices().getAverageQueueTime(0), 1e-9);
+
+        Path trace = Files.writeString(directory.resolve("shared.csv"), "id,arrival,burst,priority\nA,0,2;4;1,0\nB,0,1;3;1,0\n");
+        BatchRunner.runTrace(trace, "Round Robin", 10, directory);
+        assertEquals(List.of("device,requests,busyTime,utilization,averageQueueTime", "0,2,7,0.7000,1.50"),
+            Files.readAllLines(directory.resolve("shared.devices.csv")));
+    }
+
+    // Schedules {arrival, burst, priority} rows named P1, P2, ... with quantum 2, and checks the
+    // timeline and average turnaround and waiting times against the original engine's results
+    // (which listed adjacent slices of one process, and idle units, as separate entries)
+    private static void assertSchedule(int[][] workload, String algorithm, double averageTurnaroundTime,
+            double averageWaitingTime, String... expectedEntries) {
+        ProcessTable table = new ProcessTable(workload.length);
+        for (int i = 0; i < workload.length; i++) {
+            table.add("P" + (i + 1), workload[i][0], workload[i][1], workload[i][2]);
+        }
+        Controller controller = new Controller(table, 2);
+        controller.execute(algorithm);
+        assertEquals(List.of(expectedEntries), entries(controller), algorithm);
+        assertEquals(averageTurnaroundTime, controller.getAverageTurnaroundTime(), 1e-9, algorithm);
+        assertEquals(averageWaitingTime, controller.getAverageWaitingTime(), 1e-9, algorithm);
+    }
+
+    private static List<String> entries(Controller controller) {
+        List<String> entries = new ArrayList<>();
+        for (Controller.GanttChartEntry entry : controller.getTimeline()) {
+            entries.add(entry.processID + "@" + entry.startTime + "+" + entry.duration);
+        }
+        return entries;
+    }
+}
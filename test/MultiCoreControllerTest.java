@@ -0,0 +1,27 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MultiCoreControllerTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void writesQuotedIdsToTheTimeline() throws IOException {
+        ProcessTable table = new ProcessTable(2);
+        table.add("A,1", 0, 3, 0);
+        table.add("B \"x\"", 0, 2, 0);
+        MultiCoreController controller = new MultiCoreController(table, 2, 0);
+        controller.execute("Non Preemptive SJF");
+        Path timeline = directory.resolve("lanes.csv");
+        controller.writeTimeline(timeline);
+
+        assertEquals(List.of("cpu,processID,startTime,duration", "0,\"B \"\"x\"\"\",0,2", "0,IDLE,2,1", "1,\"A,1\",0,3"),
+            Files.readAllLines(timeline));
+    }
+}
@@ -0,0 +1,32 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+class QuantumSweepTest {
+    @Test
+    void coversTheRangeWithoutOverflow() {
+        List<QuantumSweep.Result> results = QuantumSweep.run(table(), 1, Integer.MAX_VALUE, Integer.MAX_VALUE / 4);
+        assertEquals(5, results.size());
+        assertEquals(1, results.get(0).quantumTime);
+        assertEquals(1 + 4L * (Integer.MAX_VALUE / 4), results.get(4).quantumTime);
+    }
+
+    @Test
+    void rejectsBadRanges() {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        assertThrows(IllegalArgumentException.class, () -> QuantumSweep.run(table(), 1, 10, 0, pool));
+        assertThrows(IllegalArgumentException.class, () -> QuantumSweep.run(table(), 1, 10, -3, pool));
+        assertThrows(IllegalArgumentException.class, () -> QuantumSweep.run(table(), 10, 1, 1, pool));
+        assertThrows(IllegalArgumentException.class, () -> QuantumSweep.run(table(), 1, Integer.MAX_VALUE, 1, pool));
+    }
+
+    private static ProcessTable table() {
+        ProcessTable table = new ProcessTable(2);
+        table.add("A", 0, 5, 0);
+        table.add("B", 1, 3, 0);
+        return table;
+    }
+}
@@ -0,0 +1,34 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class TimelineSummaryTest {
+    @Test
+    void keepsContextSwitchTimeApartFromIdleTime() {
+        ProcessTable table = new ProcessTable(2);
+        table.add("A", 0, 2, 0);
+        table.add("B", 1, 2, 0);
+        Timeline timeline = new Timeline(table);
+        timeline.append(0, 0, 1);
+        timeline.append(1, 1, 1);
+        timeline.append(Timeline.CONTEXT_SWITCH, 2, 1);
+        timeline.append(Timeline.CONTEXT_SWITCH, 3, 1);
+        timeline.append(0, 4, 1);
+        timeline.append(1, 5, 1);
+        TimelineSummary summary = new TimelineSummary(timeline);
+
+        // Level 0 buckets are two time units wide, so the middle one holds only the switches
+        assertEquals(3, summary.getBucketCount(0));
+        assertEquals(Timeline.CONTEXT_SWITCH, summary.getDominantProcess(0, 1));
+        assertEquals(0, summary.getBusyRatio(0, 1));
+        assertEquals(1, summary.getContextSwitchRatio(0, 1));
+
+        assertEquals(0, summary.getDominantProcess(1, 0));
+        assertEquals(0.5, summary.getBusyRatio(1, 0));
+        assertEquals(0.5, summary.getContextSwitchRatio(1, 0));
+
+        int top = summary.getLevelCount() - 1;
+        assertEquals(4.0 / 6, summary.getBusyRatio(top, 0));
+        assertEquals(2.0 / 6, summary.getContextSwitchRatio(top, 0));
+    }
+}
@@ -0,0 +1,23 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class TimelineTest {
+    @Test
+    void mergesAdjacentSlicesExceptContextSwitches() {
+        ProcessTable table = new ProcessTable(1);
+        table.add("A", 0, 4, 0);
+        Timeline timeline = new Timeline(table);
+        timeline.append(0, 0, 1);
+        timeline.append(0, 1, 1);
+        timeline.append(Timeline.CONTEXT_SWITCH, 2, 1);
+        timeline.append(Timeline.CONTEXT_SWITCH, 3, 1);
+
+        assertEquals(3, timeline.size());
+        assertEquals(0, timeline.getProcessIndex(0));
+        assertEquals(2, timeline.getDuration(0));
+        assertEquals(Timeline.CONTEXT_SWITCH, timeline.getProcessIndex(1));
+        assertEquals(Timeline.CONTEXT_SWITCH, timeline.getProcessIndex(2));
+        assertEquals(3, timeline.getStartTime(2));
+    }
+}
@@ -0,0 +1,77 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TraceLoaderTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void loadsCsvAndJsonTraces() throws IOException {
+        ProcessTable csv = TraceLoader.load(write("trace.csv", "id,arrival,burst,priority\nP1,0,5,1\nP2,3,2;4;1,0\n"));
+        assertEquals(2, csv.size());
+        assertEquals(5, csv.getBurstTime(0));
+        assertEquals(3, csv.getBurstTime(1));
+        assertEquals(1, csv.getIOBurstCount(1));
+
+        ProcessTable json = TraceLoader.load(write("trace.json", "[{\"id\": \"A,1\", \"arrival\": 2, \"burst\": 4}]"));
+        assertEquals("A,1", json.getProcessID(0));
+        assertEquals(2, json.getArrivalTime(0));
+    }
+
+    @Test
+    void rejectsNegativeArrivalTime() throws IOException {
+        Path trace = write("trace.csv", "P1,0,5\nP2,-1,5\n");
+        IOException e = assertThrows(IOException.class, () -> TraceLoader.load(trace));
+        assertTrue(e.getMessage().contains("P2"), e.getMessage());
+        assertTrue(e.getMessage().contains(":2:"), e.getMessage());
+    }
+
+    @Test
+    void rejectsZeroAndNegativeBurstTimes() throws IOException {
+        Path zero = write("zero.csv", "P1,0,0\n");
+        assertTrue(assertThrows(IOException.class, () -> TraceLoader.load(zero)).getMessage().contains("P1"));
+
+        Path negative = write("negative.json", "[{\"id\": \"P1\", \"arrival\": 0, \"burst\": -3}]");
+        assertTrue(assertThrows(IOException.class, () -> TraceLoader.load(negative)).getMessage().contains("P1"));
+
+        Path noCpu = write("nocpu.csv", "P1,0,0;4;0\n");
+        assertThrows(IOException.class, () -> TraceLoader.load(noCpu));
+    }
+
+    @Test
+    void recognizesExtensionsAndHeadersInAnyLocale() throws IOException {
+        ProcessTable table = new ProcessTable(1);
+        table.add("P1", 0, 5, 1);
+        Path binary = directory.resolve("TRACE.BIN");
+        BinaryTrace.write(table, binary);
+        Path csv = write("trace.csv", "ID,ARRIVAL,BURST,PRIORITY\nP1,0,5,1\n");
+
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(new Locale("tr", "TR"));
+        try {
+            assertEquals(1, TraceLoader.load(binary).size());
+            assertEquals(5, TraceLoader.load(csv).getBurstTime(0));
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    void tableRejectsNegativeTimes() {
+        ProcessTable table = new ProcessTable(1);
+        assertThrows(IllegalArgumentException.class, () -> table.add("P1", -1, 5, 0));
+        assertThrows(IllegalArgumentException.class, () -> table.add("P1", 0, -5, 0));
+    }
+
+    private Path write(String name, String text) throws IOException {
+        return Files.writeString(directory.resolve(name), text);
+    }
+}